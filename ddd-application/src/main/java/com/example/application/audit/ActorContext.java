@@ -0,0 +1,31 @@
+package com.example.application.audit;
+
+/**
+ * 操作人上下文
+ * 绑定当前线程的操作人，由接入层在请求开始时设置；未设置时视为系统操作
+ */
+public final class ActorContext {
+
+    public static final String SYSTEM = "system";
+
+    private static final ThreadLocal<String> ACTOR = new ThreadLocal<>();
+
+    private ActorContext() {
+    }
+
+    public static void setActor(String actor) {
+        ACTOR.set(actor);
+    }
+
+    /**
+     * 当前操作人，未设置时为 {@link #SYSTEM}
+     */
+    public static String getActor() {
+        String actor = ACTOR.get();
+        return actor != null ? actor : SYSTEM;
+    }
+
+    public static void clear() {
+        ACTOR.remove();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.application.audit;
+
+import com.example.application.dto.UserDTO;
+import com.example.application.event.UserChangeType;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 审计记录
+ * 由应用服务在每次写操作后发布，记录操作人和变更前后有差异的字段；不记录密码
+ * @param changes 字段名到变更前后值，创建时before为null，删除时after为null
+ */
+public record AuditEntry(
+        Instant occurredAt,
+        String actor,
+        UserChangeType action,
+        Long userId,
+        Map<String, Change> changes) {
+
+    public record Change(Object before, Object after) {
+    }
+
+    /**
+     * 以当前操作人构建审计记录
+     * @param before 变更前的状态，创建时为null
+     * @param after 变更后的状态，删除时为null
+     */
+    public static AuditEntry of(UserChangeType action, UserDTO before, UserDTO after) {
+        Map<String, Change> changes = new LinkedHashMap<>();
+        diff(changes, "username", before != null ? before.getUsername() : null, after != null ? after.getUsername() : null);
+        diff(changes, "email", before != null ? before.getEmail() : null, after != null ? after.getEmail() : null);
+        diff(changes, "status", before != null ? before.getStatus() : null, after != null ? after.getStatus() : null);
+        Long userId = after != null ? after.getId() : before.getId();
+        return new AuditEntry(Instant.now(), ActorContext.getActor(), action, userId, changes);
+    }
+
+    private static void diff(Map<String, Change> changes, String field, Object before, Object after) {
+        if (!Objects.equals(before, after)) {
+            changes.put(field, new Change(before, after));
+        }
+    }
+}
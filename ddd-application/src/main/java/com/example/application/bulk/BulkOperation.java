@@ -0,0 +1,51 @@
+package com.example.application.bulk;
+
+import com.example.domain.model.user.UserStatusTransition;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 批量状态转换任务
+ * 按ID区间分块推进，cursorId之前的区间均已处理完成，崩溃后从cursorId继续
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOperation {
+    
+    private Long id;
+    
+    private UserStatusTransition transition;
+    
+    private UserCriteria criteria;
+    
+    private BulkOperationStatus status;
+    
+    /**
+     * 任务创建时的最大用户ID，之后新建的用户不在处理范围内
+     */
+    private long upperBoundId;
+    
+    /**
+     * 已处理到的用户ID（含）
+     */
+    private long cursorId;
+    
+    private long affectedCount;
+    
+    private String error;
+    
+    /**
+     * 提交任务的操作人，分块在后台线程执行时以该操作人写入updated_by和审计记录
+     */
+    private String actor;
+    
+    private LocalDateTime createdAt;
+    
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,30 @@
+package com.example.application.bulk;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 批量操作任务仓储
+ * 进度和状态分开更新，避免执行线程覆盖并发的取消请求
+ */
+public interface BulkOperationRepository {
+    
+    BulkOperation create(BulkOperation operation);
+    
+    Optional<BulkOperation> findById(Long id);
+    
+    List<BulkOperation> findRecent(int limit);
+    
+    List<BulkOperation> findByStatusIn(Collection<BulkOperationStatus> statuses);
+    
+    /**
+     * 当前状态属于expected时更新为target，返回是否更新成功
+     */
+    boolean compareAndSetStatus(Long id, Collection<BulkOperationStatus> expected, BulkOperationStatus target, String error);
+    
+    /**
+     * 记录分块进度
+     */
+    void recordProgress(Long id, long cursorId, long affectedDelta);
+}
@@ -0,0 +1,21 @@
+package com.example.application.bulk;
+
+/**
+ * 批量操作状态
+ */
+public enum BulkOperationStatus {
+    
+    PENDING,
+    
+    RUNNING,
+    
+    COMPLETED,
+    
+    CANCELLED,
+    
+    FAILED;
+    
+    public boolean isFinished() {
+        return this == COMPLETED || this == CANCELLED || this == FAILED;
+    }
+}
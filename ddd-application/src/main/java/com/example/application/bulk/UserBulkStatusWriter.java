@@ -0,0 +1,27 @@
+package com.example.application.bulk;
+
+import com.example.domain.model.user.UserStatusTransition;
+
+import java.util.List;
+
+/**
+ * 用户状态批量写入端口
+ * 以集合更新代替逐个加载聚合，源状态和目标状态取自UserStatusTransition
+ */
+public interface UserBulkStatusWriter {
+    
+    /**
+     * 当前最大用户ID
+     */
+    long maxUserId();
+    
+    /**
+     * 对ID在[fromId, toId]区间内且满足条件的用户执行状态转换
+     * 重复执行是幂等的，已转换的用户不再满足源状态
+     *
+     * @param actor 提交任务的操作人，写入updated_by
+     * @return 本次被更新的用户及其转换前的状态
+     */
+    List<UserStatusChange> transition(
+            UserStatusTransition transition, UserCriteria criteria, long fromId, long toId, String actor);
+}
@@ -0,0 +1,18 @@
+package com.example.application.bulk;
+
+import java.time.LocalDateTime;
+
+/**
+ * 批量操作的用户筛选条件，各条件为空时不限制
+ * usernamePattern支持通配符 * 和 ?
+ */
+public record UserCriteria(
+        LocalDateTime createdBefore,
+        LocalDateTime createdAfter,
+        String usernamePattern) {
+    
+    public boolean isEmpty() {
+        return createdBefore == null && createdAfter == null
+                && (usernamePattern == null || usernamePattern.isBlank());
+    }
+}
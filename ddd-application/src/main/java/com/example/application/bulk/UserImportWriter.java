@@ -0,0 +1,22 @@
+package com.example.application.bulk;
+
+import com.example.domain.model.user.User;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 用户批量导入写入端口
+ */
+public interface UserImportWriter {
+    
+    /**
+     * 流式读出现有的用户名和邮箱，用于导入前一次性构建去重集合
+     */
+    void forEachExisting(Consumer<String> usernames, Consumer<String> emails);
+    
+    /**
+     * 在一个事务中插入一批用户，任一失败时整批回滚
+     */
+    void insertBatch(List<User> users);
+}
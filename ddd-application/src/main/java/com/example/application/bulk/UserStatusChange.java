@@ -0,0 +1,11 @@
+package com.example.application.bulk;
+
+import com.example.application.query.UserView;
+
+/**
+ * 批量转换中单个用户的状态变化
+ * @param previousStatus 转换前的状态
+ * @param user 转换后的用户视图
+ */
+public record UserStatusChange(String previousStatus, UserView user) {
+}
@@ -0,0 +1,20 @@
+package com.example.application.command;
+
+import com.example.application.bulk.UserCriteria;
+import com.example.domain.model.user.UserStatusTransition;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 批量状态转换命令
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusTransitionCommand {
+    
+    private UserStatusTransition transition;
+    
+    private UserCriteria criteria;
+}
@@ -2,6 +2,8 @@ package com.example.application.config;
 
 import com.example.domain.repository.UserRepository;
 import com.example.domain.service.UserDomainService;
+import com.example.domain.service.UsernameIndex;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -13,8 +15,9 @@ import org.springframework.context.annotation.Configuration;
 public class DomainServiceConfig {
     
     @Bean
-    public UserDomainService userDomainService(UserRepository userRepository) {
-        return new UserDomainService(userRepository);
+    public UserDomainService userDomainService(
+            UserRepository userRepository,
+            ObjectProvider<UsernameIndex> usernameIndex) {
+        return new UserDomainService(userRepository, usernameIndex.getIfAvailable());
     }
 }
-
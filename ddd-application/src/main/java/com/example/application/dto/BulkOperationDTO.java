@@ -0,0 +1,47 @@
+package com.example.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 批量操作数据传输对象
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOperationDTO {
+    
+    private Long id;
+    
+    private String transition;
+    
+    private String status;
+    
+    private LocalDateTime createdBefore;
+    
+    private LocalDateTime createdAfter;
+    
+    private String usernamePattern;
+    
+    private long upperBoundId;
+    
+    private long cursorId;
+    
+    private long affectedCount;
+    
+    /**
+     * 按ID区间计算的进度，0到1
+     */
+    private double progress;
+    
+    private String error;
+    
+    private LocalDateTime createdAt;
+    
+    private LocalDateTime updatedAt;
+}
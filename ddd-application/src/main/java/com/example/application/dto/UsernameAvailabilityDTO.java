@@ -0,0 +1,27 @@
+package com.example.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 用户名可用性数据传输对象
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsernameAvailabilityDTO {
+    
+    private String username;
+    
+    private boolean available;
+    
+    /**
+     * 用户名已被占用时的可用替代
+     */
+    private List<String> suggestions;
+}
@@ -0,0 +1,15 @@
+package com.example.application.event;
+
+/**
+ * 用户变更类型
+ */
+public enum UserChangeType {
+    
+    CREATED,
+    
+    UPDATED,
+    
+    STATUS_CHANGED,
+    
+    DELETED
+}
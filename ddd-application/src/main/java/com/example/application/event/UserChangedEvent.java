@@ -0,0 +1,16 @@
+package com.example.application.event;
+
+import com.example.application.dto.UserDTO;
+
+import java.time.Instant;
+
+/**
+ * 用户变更事件
+ * 由应用服务在写操作后发布，user为变更后的状态，删除时为删除前的快照
+ */
+public record UserChangedEvent(UserChangeType type, Long userId, UserDTO user, Instant occurredAt) {
+    
+    public static UserChangedEvent of(UserChangeType type, UserDTO user) {
+        return new UserChangedEvent(type, user.getId(), user, Instant.now());
+    }
+}
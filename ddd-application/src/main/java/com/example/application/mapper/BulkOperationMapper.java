@@ -0,0 +1,26 @@
+package com.example.application.mapper;
+
+import com.example.application.bulk.BulkOperation;
+import com.example.application.dto.BulkOperationDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * 批量操作对象映射器
+ */
+@Mapper(componentModel = "spring")
+public interface BulkOperationMapper {
+    
+    @Mapping(target = "createdBefore", source = "criteria.createdBefore")
+    @Mapping(target = "createdAfter", source = "criteria.createdAfter")
+    @Mapping(target = "usernamePattern", source = "criteria.usernamePattern")
+    @Mapping(target = "progress", expression = "java(progress(operation))")
+    BulkOperationDTO toDTO(BulkOperation operation);
+    
+    default double progress(BulkOperation operation) {
+        if (operation.getUpperBoundId() <= 0) {
+            return 1.0;
+        }
+        return Math.min(1.0, (double) operation.getCursorId() / operation.getUpperBoundId());
+    }
+}
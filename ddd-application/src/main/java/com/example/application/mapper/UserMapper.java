@@ -1,6 +1,7 @@
 package com.example.application.mapper;
 
 import com.example.application.dto.UserDTO;
+import com.example.application.query.UserView;
 import com.example.domain.model.user.User;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -14,5 +15,7 @@ public interface UserMapper {
     
     @Mapping(target = "status", expression = "java(user.getStatus().name())")
     UserDTO toDTO(User user);
+    
+    UserDTO toDTO(UserView view);
 }
 
@@ -0,0 +1,40 @@
+package com.example.application.query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 用户查询仓储
+ * 读路径直接查询投影视图，不加载聚合
+ */
+public interface UserQueryRepository {
+
+    /**
+     * 根据ID查询用户视图
+     * @param id 用户ID
+     * @return 用户视图
+     */
+    Optional<UserView> findById(Long id);
+
+    /**
+     * 根据ID批量查询用户视图
+     * @param ids 用户ID
+     * @return 存在的用户视图，按ID升序
+     */
+    List<UserView> findAllByIds(Collection<Long> ids);
+
+    /**
+     * 查询所有用户视图
+     * @return 用户视图列表，按ID升序
+     */
+    List<UserView> findAll();
+
+    /**
+     * 按ID游标分页查询用户视图
+     * @param afterId 上一页最后一个用户ID，首页传null
+     * @param limit 每页数量
+     * @return 用户视图列表，按ID升序
+     */
+    List<UserView> findPage(Long afterId, int limit);
+}
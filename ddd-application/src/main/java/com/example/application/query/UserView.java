@@ -0,0 +1,16 @@
+package com.example.application.query;
+
+import java.time.LocalDateTime;
+
+/**
+ * 用户只读视图
+ * 查询侧直接投影的不可变结果，只包含响应需要的列
+ */
+public record UserView(
+        Long id,
+        String username,
+        String email,
+        String status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
@@ -0,0 +1,224 @@
+package com.example.application.service;
+
+import com.example.application.audit.ActorContext;
+import com.example.application.audit.AuditEntry;
+import com.example.application.bulk.BulkOperation;
+import com.example.application.bulk.BulkOperationRepository;
+import com.example.application.bulk.BulkOperationStatus;
+import com.example.application.bulk.UserBulkStatusWriter;
+import com.example.application.bulk.UserStatusChange;
+import com.example.application.command.BulkStatusTransitionCommand;
+import com.example.application.dto.BulkOperationDTO;
+import com.example.application.dto.UserDTO;
+import com.example.application.event.UserChangeType;
+import com.example.application.event.UserChangedEvent;
+import com.example.application.mapper.BulkOperationMapper;
+import com.example.application.mapper.UserMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 用户批量操作应用服务
+ * 任务在单独的线程中按ID区间分块执行，每块一个短事务：检查任务状态、集合更新、记录进度一并提交，
+ * 块之间暂停以让出连接和锁给在线请求。任务同一时刻只执行一个，重启后继续未完成的任务。
+ */
+@Slf4j
+@Service
+public class BulkUserOperationService implements DisposableBean {
+    
+    private static final int RECENT_LIMIT = 50;
+    
+    private final BulkOperationRepository bulkOperationRepository;
+    private final UserBulkStatusWriter userBulkStatusWriter;
+    private final BulkOperationMapper bulkOperationMapper;
+    private final UserMapper userMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate chunkTransactionTemplate;
+    private final int chunkSize;
+    private final Duration chunkPause;
+    private final ExecutorService executor;
+    private final AtomicBoolean resumed = new AtomicBoolean();
+    
+    public BulkUserOperationService(
+            BulkOperationRepository bulkOperationRepository,
+            UserBulkStatusWriter userBulkStatusWriter,
+            BulkOperationMapper bulkOperationMapper,
+            UserMapper userMapper,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.bulk.chunk-size:1000}") int chunkSize,
+            @Value("${app.bulk.chunk-pause:50ms}") Duration chunkPause,
+            @Value("${app.bulk.chunk-timeout:5s}") Duration chunkTimeout) {
+        this.bulkOperationRepository = bulkOperationRepository;
+        this.userBulkStatusWriter = userBulkStatusWriter;
+        this.bulkOperationMapper = bulkOperationMapper;
+        this.userMapper = userMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkTransactionTemplate.setTimeout((int) Math.max(1, chunkTimeout.toSeconds()));
+        this.chunkSize = chunkSize;
+        this.chunkPause = chunkPause;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bulk-operation");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * 提交批量状态转换任务
+     */
+    public BulkOperationDTO startStatusTransition(BulkStatusTransitionCommand command) {
+        if (command.getTransition() == null) {
+            throw new IllegalArgumentException("状态转换不能为空");
+        }
+        if (command.getCriteria() == null || command.getCriteria().isEmpty()) {
+            throw new IllegalArgumentException("批量操作至少需要一个筛选条件");
+        }
+        BulkOperation operation = transactionTemplate.execute(status -> bulkOperationRepository.create(
+                BulkOperation.builder()
+                        .transition(command.getTransition())
+                        .criteria(command.getCriteria())
+                        .status(BulkOperationStatus.PENDING)
+                        .upperBoundId(userBulkStatusWriter.maxUserId())
+                        .actor(ActorContext.getActor())
+                        .build()));
+        submit(operation.getId());
+        return bulkOperationMapper.toDTO(operation);
+    }
+    
+    /**
+     * 查询任务
+     */
+    public BulkOperationDTO getOperation(Long id) {
+        return findOperation(id)
+                .map(bulkOperationMapper::toDTO)
+                .orElseThrow(() -> new IllegalArgumentException("批量操作不存在"));
+    }
+    
+    /**
+     * 查询最近的任务
+     */
+    public List<BulkOperationDTO> getRecentOperations() {
+        return transactionTemplate.execute(status -> bulkOperationRepository.findRecent(RECENT_LIMIT)).stream()
+                .map(bulkOperationMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * 取消任务，正在执行的块提交后停止
+     */
+    public BulkOperationDTO cancelOperation(Long id) {
+        boolean cancelled = transactionTemplate.execute(status -> bulkOperationRepository.compareAndSetStatus(
+                id, EnumSet.of(BulkOperationStatus.PENDING, BulkOperationStatus.RUNNING),
+                BulkOperationStatus.CANCELLED, null));
+        BulkOperationDTO operation = getOperation(id);
+        if (!cancelled && !BulkOperationStatus.CANCELLED.name().equals(operation.getStatus())) {
+            throw new IllegalArgumentException("批量操作已结束，无法取消");
+        }
+        return operation;
+    }
+    
+    /**
+     * 启动后继续执行未完成的任务
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void resumeUnfinished() {
+        if (!resumed.compareAndSet(false, true)) {
+            return;
+        }
+        List<BulkOperation> unfinished = transactionTemplate.execute(status -> bulkOperationRepository.findByStatusIn(
+                EnumSet.of(BulkOperationStatus.PENDING, BulkOperationStatus.RUNNING)));
+        for (BulkOperation operation : unfinished) {
+            log.info("Resuming bulk operation {} from user id {}", operation.getId(), operation.getCursorId());
+            submit(operation.getId());
+        }
+    }
+    
+    @Override
+    public void destroy() {
+        // 中断的任务保持RUNNING状态，下次启动时继续
+        executor.shutdownNow();
+    }
+    
+    private Optional<BulkOperation> findOperation(Long id) {
+        return transactionTemplate.execute(status -> bulkOperationRepository.findById(id));
+    }
+    
+    private void submit(Long id) {
+        executor.execute(() -> run(id));
+    }
+    
+    private void run(Long id) {
+        try {
+            boolean started = transactionTemplate.execute(status -> bulkOperationRepository.compareAndSetStatus(
+                    id, EnumSet.of(BulkOperationStatus.PENDING, BulkOperationStatus.RUNNING),
+                    BulkOperationStatus.RUNNING, null));
+            if (!started) {
+                return;
+            }
+            while (chunkTransactionTemplate.execute(status -> processChunk(id))) {
+                Thread.sleep(chunkPause.toMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Bulk operation {} failed", id, e);
+            transactionTemplate.execute(status -> bulkOperationRepository.compareAndSetStatus(
+                    id, EnumSet.of(BulkOperationStatus.RUNNING), BulkOperationStatus.FAILED, e.getMessage()));
+        }
+    }
+    
+    /**
+     * 在一个事务中处理下一块，返回是否还有剩余
+     */
+    private boolean processChunk(Long id) {
+        BulkOperation operation = bulkOperationRepository.findById(id).orElse(null);
+        if (operation == null || operation.getStatus() != BulkOperationStatus.RUNNING) {
+            return false;
+        }
+        if (operation.getCursorId() >= operation.getUpperBoundId()) {
+            bulkOperationRepository.compareAndSetStatus(
+                    id, EnumSet.of(BulkOperationStatus.RUNNING), BulkOperationStatus.COMPLETED, null);
+            return false;
+        }
+        long fromId = operation.getCursorId() + 1;
+        long toId = Math.min(operation.getUpperBoundId(), operation.getCursorId() + chunkSize);
+        // 升级前创建的任务没有记录操作人，按系统操作处理
+        String actor = operation.getActor() != null ? operation.getActor() : ActorContext.SYSTEM;
+        List<UserStatusChange> changed = userBulkStatusWriter.transition(
+                operation.getTransition(), operation.getCriteria(), fromId, toId, actor);
+        bulkOperationRepository.recordProgress(id, toId, changed.size());
+        ActorContext.setActor(actor);
+        try {
+            for (UserStatusChange change : changed) {
+                UserDTO after = userMapper.toDTO(change.user());
+                UserDTO before = userMapper.toDTO(change.user());
+                before.setStatus(change.previousStatus());
+                eventPublisher.publishEvent(UserChangedEvent.of(UserChangeType.STATUS_CHANGED, after));
+                eventPublisher.publishEvent(AuditEntry.of(UserChangeType.STATUS_CHANGED, before, after));
+            }
+        } finally {
+            ActorContext.clear();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.application.service;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 唯一约束冲突提示
+ * 按违反的约束名给出提示：JPA用户表与分片/事件溯源共用的用户目录各自命名唯一约束；
+ * 非空、长度等其他约束不属于冲突，不做识别
+ */
+public final class UniqueConstraintMessages {
+
+    public static final String USERNAME_CONSTRAINT = "uk_users_username";
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
+    private static final Map<String, String> MESSAGES = Map.of(
+            USERNAME_CONSTRAINT, "用户名已存在",
+            EMAIL_CONSTRAINT, "邮箱已存在",
+            "uk_user_directory_username", "用户名已存在",
+            "uk_user_directory_email", "邮箱已存在");
+
+    private UniqueConstraintMessages() {
+    }
+
+    /**
+     * 违反已知唯一约束时返回对应提示，否则为空
+     */
+    public static Optional<String> resolve(DataIntegrityViolationException e) {
+        String detail = e.getMostSpecificCause().getMessage();
+        if (detail == null) {
+            return Optional.empty();
+        }
+        String normalized = detail.toLowerCase(Locale.ROOT);
+        return MESSAGES.entrySet().stream()
+                .filter(entry -> normalized.contains(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst();
+    }
+}
@@ -1,13 +1,22 @@
 package com.example.application.service;
 
+import com.example.application.audit.ActorContext;
+import com.example.application.audit.AuditEntry;
 import com.example.application.command.CreateUserCommand;
 import com.example.application.command.UpdateUserCommand;
 import com.example.application.dto.UserDTO;
+import com.example.application.dto.UsernameAvailabilityDTO;
+import com.example.application.event.UserChangeType;
+import com.example.application.event.UserChangedEvent;
 import com.example.application.mapper.UserMapper;
+import com.example.application.query.UserQueryRepository;
+import com.example.application.query.UserView;
 import com.example.domain.model.user.User;
 import com.example.domain.repository.UserRepository;
 import com.example.domain.service.UserDomainService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -15,23 +24,35 @@ import java.util.stream.Collectors;
 
 /**
  * 用户应用服务
- * 协调领域对象完成用例
+ * 协调领域对象完成用例；写操作记录当前操作人，并发布变更事件和审计记录
  */
 @Service
 @Transactional
 public class UserApplicationService {
     
+    private static final int MAX_BATCH_SIZE = 500;
+    
+    private static final int MAX_USERNAME_SUGGESTIONS = 50;
+    
+    private static final int ALTERNATIVE_USERNAMES = 3;
+    
     private final UserRepository userRepository;
+    private final UserQueryRepository userQueryRepository;
     private final UserDomainService userDomainService;
     private final UserMapper userMapper;
+    private final ApplicationEventPublisher eventPublisher;
     
     public UserApplicationService(
             UserRepository userRepository,
+            UserQueryRepository userQueryRepository,
             UserDomainService userDomainService,
-            UserMapper userMapper) {
+            UserMapper userMapper,
+            ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
+        this.userQueryRepository = userQueryRepository;
         this.userDomainService = userDomainService;
         this.userMapper = userMapper;
+        this.eventPublisher = eventPublisher;
     }
     
     /**
@@ -49,12 +70,14 @@ public class UserApplicationService {
                 command.getEmail(),
                 command.getPassword()
         );
+        user.setCreatedBy(ActorContext.getActor());
+        user.setUpdatedBy(ActorContext.getActor());
         
         // 保存
         User savedUser = userRepository.save(user);
         
         // 转换为DTO
-        return userMapper.toDTO(savedUser);
+        return publish(UserChangeType.CREATED, null, userMapper.toDTO(savedUser));
     }
     
     /**
@@ -63,6 +86,7 @@ public class UserApplicationService {
     public UserDTO updateUser(UpdateUserCommand command) {
         User user = userRepository.findById(command.getId())
                 .orElseThrow(() -> new IllegalArgumentException("用户不存在"));
+        UserDTO before = userMapper.toDTO(user);
         
         if (command.getEmail() != null) {
             if (!userDomainService.isEmailAvailable(command.getEmail())) {
@@ -70,9 +94,10 @@ public class UserApplicationService {
             }
             user.updateEmail(command.getEmail());
         }
+        user.setUpdatedBy(ActorContext.getActor());
         
         User updatedUser = userRepository.save(user);
-        return userMapper.toDTO(updatedUser);
+        return publish(UserChangeType.UPDATED, before, userMapper.toDTO(updatedUser));
     }
     
     /**
@@ -80,9 +105,22 @@ public class UserApplicationService {
      */
     @Transactional(readOnly = true)
     public UserDTO getUserById(Long id) {
-        User user = userRepository.findById(id)
+        UserView view = userQueryRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("用户不存在"));
-        return userMapper.toDTO(user);
+        return userMapper.toDTO(view);
+    }
+    
+    /**
+     * 根据ID批量查询用户，不存在的ID被忽略
+     */
+    @Transactional(readOnly = true)
+    public List<UserDTO> getUsersByIds(List<Long> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("批量查询最多支持" + MAX_BATCH_SIZE + "个ID");
+        }
+        return userQueryRepository.findAllByIds(ids).stream()
+                .map(userMapper::toDTO)
+                .collect(Collectors.toList());
     }
     
     /**
@@ -91,19 +129,67 @@ public class UserApplicationService {
     @Transactional(readOnly = true)
     public List<UserDTO> getAllUsers() {
         // 这里简化处理，实际应该使用分页查询
-        return userRepository.findAll().stream()
+        return userQueryRepository.findAll().stream()
+                .map(userMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * 按ID游标分页查询用户
+     * @param afterId 上一页最后一个用户ID，首页传null
+     */
+    @Transactional(readOnly = true)
+    public List<UserDTO> getUsersPage(Long afterId, int limit) {
+        if (limit < 1 || limit > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("每页数量需在1到" + MAX_BATCH_SIZE + "之间");
+        }
+        return userQueryRepository.findPage(afterId, limit).stream()
                 .map(userMapper::toDTO)
                 .collect(Collectors.toList());
     }
     
+    /**
+     * 检查用户名是否可用，被占用时附带可用的替代用户名
+     * 优先查内存索引，不开启事务
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public UsernameAvailabilityDTO checkUsernameAvailability(String username) {
+        if (username == null || username.isBlank()) {
+            throw new IllegalArgumentException("用户名不能为空");
+        }
+        boolean available = userDomainService.isUsernameAvailable(username);
+        return UsernameAvailabilityDTO.builder()
+                .username(username)
+                .available(available)
+                .suggestions(available
+                        ? List.of()
+                        : userDomainService.suggestAvailableUsernames(username, ALTERNATIVE_USERNAMES))
+                .build();
+    }
+    
+    /**
+     * 按前缀补全已存在的用户名
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<String> autocompleteUsernames(String prefix, int limit) {
+        if (prefix == null || prefix.isEmpty()) {
+            throw new IllegalArgumentException("前缀不能为空");
+        }
+        if (limit < 1 || limit > MAX_USERNAME_SUGGESTIONS) {
+            throw new IllegalArgumentException("数量需在1到" + MAX_USERNAME_SUGGESTIONS + "之间");
+        }
+        return userDomainService.findTakenUsernames(prefix, limit);
+    }
+    
     /**
      * 删除用户
      */
     public void deleteUser(Long id) {
-        if (!userRepository.findById(id).isPresent()) {
-            throw new IllegalArgumentException("用户不存在");
-        }
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("用户不存在"));
+        UserDTO snapshot = userMapper.toDTO(user);
         userRepository.deleteById(id);
+        publish(UserChangeType.DELETED, snapshot, null);
     }
     
     /**
@@ -112,9 +198,11 @@ public class UserApplicationService {
     public UserDTO activateUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("用户不存在"));
+        UserDTO before = userMapper.toDTO(user);
         user.activate();
+        user.setUpdatedBy(ActorContext.getActor());
         User updatedUser = userRepository.save(user);
-        return userMapper.toDTO(updatedUser);
+        return publish(UserChangeType.STATUS_CHANGED, before, userMapper.toDTO(updatedUser));
     }
     
     /**
@@ -123,9 +211,22 @@ public class UserApplicationService {
     public UserDTO deactivateUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("用户不存在"));
+        UserDTO before = userMapper.toDTO(user);
         user.deactivate();
+        user.setUpdatedBy(ActorContext.getActor());
         User updatedUser = userRepository.save(user);
-        return userMapper.toDTO(updatedUser);
+        return publish(UserChangeType.STATUS_CHANGED, before, userMapper.toDTO(updatedUser));
+    }
+    
+    /**
+     * 发布变更事件和审计记录，监听方在事务提交后处理
+     * @param before 变更前的状态，创建时为null
+     * @param after 变更后的状态，删除时为null
+     * @return after
+     */
+    private UserDTO publish(UserChangeType type, UserDTO before, UserDTO after) {
+        eventPublisher.publishEvent(UserChangedEvent.of(type, after != null ? after : before));
+        eventPublisher.publishEvent(AuditEntry.of(type, before, after));
+        return after;
     }
 }
-
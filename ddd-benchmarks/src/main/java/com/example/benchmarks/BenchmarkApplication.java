@@ -0,0 +1,35 @@
+package com.example.benchmarks;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 基准测试使用的应用上下文
+ * 与ddd-bootstrap扫描相同的分层包，但不包含启动层的命令和过滤器
+ */
+@SpringBootApplication(scanBasePackages = {
+        "com.example.domain",
+        "com.example.application",
+        "com.example.infrastructure",
+        "com.example.interfaces"
+})
+public class BenchmarkApplication {
+
+    /**
+     * 启动应用，使用内存库并关闭SQL日志
+     * @param properties 额外配置，key=value形式
+     */
+    public static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(BenchmarkApplication.class)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.open-in-view=false",
+                        "logging.level.root=WARN",
+                        "app.concurrency-limit.enabled=false")
+                .properties(properties)
+                .run();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.benchmarks;
+
+import com.example.application.command.CreateUserCommand;
+import com.example.application.service.UserApplicationService;
+import com.example.interfaces.rest.controller.UserController;
+import com.example.interfaces.rest.dto.UserResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 追踪开销：从控制器进入，经应用服务、仓储到JDBC的完整调用
+ * off：不开启追踪；unsampled：头部未采样且不做尾部采样，span不记录；
+ * tail：全部记录后在尾部丢弃；sampled：全部记录并经BatchSpanProcessor导出（导出器为none）。
+ * 运行：java -jar ddd-benchmarks/target/benchmarks.jar TracingOverheadBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TracingOverheadBenchmark {
+
+    private static final int USER_COUNT = 200;
+
+    @Param({"off", "unsampled", "tail", "sampled"})
+    private String mode;
+
+    private ConfigurableApplicationContext context;
+    private UserController userController;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(properties(mode));
+        userController = context.getBean(UserController.class);
+        UserApplicationService service = context.getBean(UserApplicationService.class);
+        for (int i = 0; i < USER_COUNT; i++) {
+            service.createUser(new CreateUserCommand("trace" + i, "trace" + i + "@example.com", "password"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<UserResponse> getById() {
+        return userController.getUserById(ThreadLocalRandom.current().nextLong(1, USER_COUNT + 1));
+    }
+
+    @Benchmark
+    public ResponseEntity<List<UserResponse>> list() {
+        return userController.getAllUsers();
+    }
+
+    private static String[] properties(String mode) {
+        List<String> common = List.of("server.port=0", "app.grpc.enabled=false", "app.profiling.enabled=false");
+        List<String> tracing = switch (mode) {
+            case "off" -> List.of("app.tracing.enabled=false");
+            case "unsampled" -> List.of("app.tracing.enabled=true", "app.tracing.exporter=none",
+                    "app.tracing.head-sampling-ratio=0", "app.tracing.tail-sampling.enabled=false");
+            case "tail" -> List.of("app.tracing.enabled=true", "app.tracing.exporter=none",
+                    "app.tracing.head-sampling-ratio=0", "app.tracing.tail-sampling.enabled=true",
+                    "app.tracing.tail-sampling.latency-threshold=10s");
+            case "sampled" -> List.of("app.tracing.enabled=true", "app.tracing.exporter=none",
+                    "app.tracing.head-sampling-ratio=1.0");
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        };
+        return Stream.concat(common.stream(), tracing.stream()).toArray(String[]::new);
+    }
+}
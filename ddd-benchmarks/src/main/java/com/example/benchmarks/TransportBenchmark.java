@@ -0,0 +1,112 @@
+package com.example.benchmarks;
+
+import com.example.interfaces.grpc.proto.CreateUserRequest;
+import com.example.interfaces.grpc.proto.GetUserRequest;
+import com.example.interfaces.grpc.proto.ListUsersRequest;
+import com.example.interfaces.grpc.proto.User;
+import com.example.interfaces.grpc.proto.UserServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Iterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * REST与gRPC回环吞吐对比
+ * 同一进程内启动完整应用，REST使用HTTP/1.1 + JSON，gRPC使用单条HTTP/2连接多路复用。
+ * 运行：java -jar ddd-benchmarks/target/benchmarks.jar TransportBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class TransportBenchmark {
+
+    private static final int HTTP_PORT = 18080;
+    private static final int GRPC_PORT = 19090;
+    private static final int USER_COUNT = 200;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private ManagedChannel channel;
+    private UserServiceGrpc.UserServiceBlockingStub stub;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start("server.port=" + HTTP_PORT, "app.grpc.port=" + GRPC_PORT);
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        channel = NettyChannelBuilder.forAddress("localhost", GRPC_PORT).usePlaintext().build();
+        stub = UserServiceGrpc.newBlockingStub(channel);
+        for (int i = 0; i < USER_COUNT; i++) {
+            stub.createUser(CreateUserRequest.newBuilder()
+                    .setUsername("bench" + i)
+                    .setEmail("bench" + i + "@example.com")
+                    .setPassword("password")
+                    .build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        context.close();
+    }
+
+    @Benchmark
+    public String restGetUser() throws IOException, InterruptedException {
+        return httpGet("/api/users/" + randomId());
+    }
+
+    @Benchmark
+    public User grpcGetUser() {
+        return stub.getUser(GetUserRequest.newBuilder().setId(randomId()).build());
+    }
+
+    @Benchmark
+    public String restListUsers() throws IOException, InterruptedException {
+        return httpGet("/api/users");
+    }
+
+    @Benchmark
+    public int grpcListUsers() {
+        int count = 0;
+        Iterator<User> users = stub.listUsers(ListUsersRequest.getDefaultInstance());
+        while (users.hasNext()) {
+            users.next();
+            count++;
+        }
+        return count;
+    }
+
+    private String httpGet(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + HTTP_PORT + path)).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private static long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, USER_COUNT + 1);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.benchmarks;
+
+import com.example.interfaces.rest.converter.UserProtoMapper;
+import com.example.interfaces.rest.dto.UserResponse;
+import com.example.interfaces.rest.proto.UserListPage;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 用户列表编解码基准
+ * 对比JSON、CBOR、Smile与Protobuf的编码/解码耗时，启动时打印各格式的负载大小。
+ * 运行：java -jar ddd-benchmarks/target/benchmarks.jar UserCodecBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserCodecBenchmark {
+
+    private static final TypeReference<List<UserResponse>> USER_LIST = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor", "smile", "protobuf"})
+    private String format;
+
+    @Param({"1", "100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<UserResponse> users;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "cbor" -> newMapper(new ObjectMapper(new CBORFactory()));
+            case "smile" -> newMapper(new ObjectMapper(new SmileFactory()));
+            default -> newMapper(new ObjectMapper());
+        };
+        users = sampleUsers(size);
+        encoded = encode();
+        System.out.printf("%n[payload] format=%s size=%d bytes=%d%n", format, size, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        if ("protobuf".equals(format)) {
+            return UserProtoMapper.toPage(users).toByteArray();
+        }
+        return objectMapper.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public List<UserResponse> decode() throws IOException {
+        if ("protobuf".equals(format)) {
+            return UserProtoMapper.toResponses(UserListPage.parseFrom(encoded));
+        }
+        return objectMapper.readValue(encoded, USER_LIST);
+    }
+
+    private static ObjectMapper newMapper(ObjectMapper mapper) {
+        return mapper.registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    static List<UserResponse> sampleUsers(int size) {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<UserResponse> users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            users.add(UserResponse.builder()
+                    .id((long) i + 1)
+                    .username("user" + i)
+                    .email("user" + i + "@example.com")
+                    .status(i % 5 == 0 ? "INACTIVE" : "ACTIVE")
+                    .createdAt(now.minusDays(i))
+                    .updatedAt(now)
+                    .build());
+        }
+        return users;
+    }
+}
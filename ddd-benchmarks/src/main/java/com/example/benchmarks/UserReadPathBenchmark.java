@@ -0,0 +1,95 @@
+package com.example.benchmarks;
+
+import com.example.application.command.CreateUserCommand;
+import com.example.application.dto.UserDTO;
+import com.example.application.mapper.UserMapper;
+import com.example.application.query.UserQueryRepository;
+import com.example.application.service.UserApplicationService;
+import com.example.domain.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 读路径对比：加载聚合再转换 vs 直接投影视图
+ * 两条路径都在只读事务中执行，配合 -prof gc 观察每次操作的分配量。
+ * 运行：java -jar ddd-benchmarks/target/benchmarks.jar UserReadPathBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserReadPathBenchmark {
+
+    private static final int USER_COUNT = 500;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnly;
+    private UserRepository userRepository;
+    private UserQueryRepository userQueryRepository;
+    private UserMapper userMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("server.port=0", "app.grpc.enabled=false",
+                "app.persistence.coalescing.enabled=false");
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        userRepository = context.getBean(UserRepository.class);
+        userQueryRepository = context.getBean(UserQueryRepository.class);
+        userMapper = context.getBean(UserMapper.class);
+        UserApplicationService service = context.getBean(UserApplicationService.class);
+        for (int i = 0; i < USER_COUNT; i++) {
+            service.createUser(new CreateUserCommand("read" + i, "read" + i + "@example.com", "password"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserDTO getByIdHydrated() {
+        long id = randomId();
+        return readOnly.execute(status -> userRepository.findById(id).map(userMapper::toDTO).orElseThrow());
+    }
+
+    @Benchmark
+    public UserDTO getByIdProjected() {
+        long id = randomId();
+        return readOnly.execute(status -> userQueryRepository.findById(id).map(userMapper::toDTO).orElseThrow());
+    }
+
+    @Benchmark
+    public List<UserDTO> listHydrated() {
+        return readOnly.execute(status -> userRepository.findAll().stream().map(userMapper::toDTO).toList());
+    }
+
+    @Benchmark
+    public List<UserDTO> listProjected() {
+        return readOnly.execute(status -> userQueryRepository.findAll().stream().map(userMapper::toDTO).toList());
+    }
+
+    private static long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, USER_COUNT + 1);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.bootstrap.command;
+
+import com.example.infrastructure.persistence.shard.ShardRebalancer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 分片再平衡命令
+ * 新增分片配置后以 --shards.rebalance 参数启动执行
+ */
+@Slf4j
+@Component
+public class ShardRebalanceCommand implements ApplicationRunner {
+
+    static final String OPTION = "shards.rebalance";
+
+    private final ObjectProvider<ShardRebalancer> shardRebalancer;
+
+    public ShardRebalanceCommand(ObjectProvider<ShardRebalancer> shardRebalancer) {
+        this.shardRebalancer = shardRebalancer;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        ShardRebalancer rebalancer = shardRebalancer.getIfAvailable();
+        if (rebalancer == null) {
+            log.warn("--{} ignored: app.persistence.user-repository is not 'sharded'", OPTION);
+            return;
+        }
+        Map<String, Long> moved = rebalancer.rebalance();
+        log.info("Shard rebalance finished: {}", moved);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.bootstrap.command;
+
+import com.example.application.bulk.UserImportWriter;
+import com.example.bootstrap.importer.ImportReport;
+import com.example.bootstrap.importer.UserCsvImportPipeline;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * 用户CSV导入命令
+ * 以 --import.file=users.csv 参数启动执行，可选参数：
+ * --import.reject-file、--import.checkpoint-file、--import.batch-size、--import.queue-capacity。
+ * 中断后使用相同参数重新启动即从检查点续传，导入完成后删除检查点。
+ * 崩溃发生在批次提交之后、检查点保存之前时，该批次续传时会因已存在而进入拒绝文件。
+ */
+@Slf4j
+@Component
+public class UserImportCommand implements ApplicationRunner {
+
+    static final String OPTION = "import.file";
+
+    private final UserImportWriter userImportWriter;
+    private final Validator validator;
+
+    public UserImportCommand(UserImportWriter userImportWriter, Validator validator) {
+        this.userImportWriter = userImportWriter;
+        this.validator = validator;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        String file = option(args, OPTION);
+        if (file == null) {
+            return;
+        }
+        Path path = Paths.get(file);
+        if (!Files.isRegularFile(path)) {
+            log.error("--{} ignored: {} is not a file", OPTION, path);
+            return;
+        }
+        UserCsvImportPipeline.Options defaults = UserCsvImportPipeline.Options.forFile(path);
+        UserCsvImportPipeline.Options options = new UserCsvImportPipeline.Options(
+                path,
+                pathOption(args, "import.reject-file", defaults.rejectFile()),
+                pathOption(args, "import.checkpoint-file", defaults.checkpointFile()),
+                intOption(args, "import.batch-size", defaults.batchSize()),
+                intOption(args, "import.queue-capacity", defaults.queueCapacity()));
+        log.info("Importing users from {}", path);
+        ImportReport report = new UserCsvImportPipeline(userImportWriter, validator, options).run();
+        log.info("User import finished: read {}, skipped {}, inserted {}, rejected {} in {} ms ({} records/s), rejects in {}",
+                report.read(), report.skipped(), report.inserted(), report.rejected(), report.elapsedMillis(),
+                Math.round(report.recordsPerSecond()), options.rejectFile());
+    }
+
+    private static String option(ApplicationArguments args, String name) {
+        List<String> values = args.getOptionValues(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    private static Path pathOption(ApplicationArguments args, String name, Path defaultValue) {
+        String value = option(args, name);
+        return value != null ? Paths.get(value) : defaultValue;
+    }
+
+    private static int intOption(ApplicationArguments args, String name, int defaultValue) {
+        String value = option(args, name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.bootstrap.config;
+
+import com.example.application.audit.ActorContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 操作人过滤器
+ * 从请求头X-Actor识别操作人，写入createdBy/updatedBy和审计记录；缺省为anonymous
+ */
+@Component
+public class ActorFilter extends OncePerRequestFilter {
+
+    static final String ACTOR_HEADER = "X-Actor";
+
+    static final String ANONYMOUS = "anonymous";
+
+    private static final int MAX_ACTOR_LENGTH = 255;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        String actor = request.getHeader(ACTOR_HEADER);
+        if (!StringUtils.hasText(actor)) {
+            actor = ANONYMOUS;
+        } else if (actor.length() > MAX_ACTOR_LENGTH) {
+            actor = actor.substring(0, MAX_ACTOR_LENGTH);
+        }
+        ActorContext.setActor(actor);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ActorContext.clear();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.bootstrap.config;
+
+import com.example.infrastructure.datasource.ReadYourWritesContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 写后读客户端标识过滤器
+ * 从请求头X-Client-Id识别客户端，缺省使用远端地址
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        String clientKey = request.getHeader(CLIENT_ID_HEADER);
+        if (!StringUtils.hasText(clientKey)) {
+            clientKey = request.getRemoteAddr();
+        }
+        ReadYourWritesContext.setClientKey(clientKey);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWritesContext.clear();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.bootstrap.importer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * 导入检查点
+ * record之前（含）的记录均已插入或写入拒绝文件，rejectBytes为此时拒绝文件的长度；
+ * 同时记录导入文件的路径、大小和修改时间，防止用错误的检查点续传
+ */
+record ImportCheckpoint(long record, long rejectBytes) {
+
+    static final ImportCheckpoint START = new ImportCheckpoint(0, 0);
+
+    static ImportCheckpoint load(Path checkpointFile, Path source) throws IOException {
+        if (!Files.exists(checkpointFile)) {
+            return START;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(checkpointFile)) {
+            properties.load(in);
+        }
+        if (!fingerprint(source).equals(properties.getProperty("source"))) {
+            throw new IllegalStateException("检查点 " + checkpointFile + " 与导入文件不匹配，确认后删除检查点重新导入");
+        }
+        return new ImportCheckpoint(
+                Long.parseLong(properties.getProperty("record")),
+                Long.parseLong(properties.getProperty("rejectBytes")));
+    }
+
+    void save(Path checkpointFile, Path source) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("source", fingerprint(source));
+        properties.setProperty("record", Long.toString(record));
+        properties.setProperty("rejectBytes", Long.toString(rejectBytes));
+        Path temp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            properties.store(out, null);
+        }
+        Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String fingerprint(Path source) throws IOException {
+        return source.toAbsolutePath().normalize() + ";" + Files.size(source) + ";" + Files.getLastModifiedTime(source).toMillis();
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.bootstrap.importer;
+
+import com.example.domain.model.user.User;
+
+/**
+ * 在流水线各阶段之间传递的一条导入记录
+ * 被拒绝的记录也继续传到写入阶段，由写入阶段按顺序写拒绝文件和检查点
+ */
+final class ImportRecord {
+
+    final long number;
+    final String username;
+    final String email;
+    final String password;
+    final String status;
+    String rejectReason;
+    User user;
+
+    ImportRecord(long number, String username, String email, String password, String status) {
+        this.number = number;
+        this.username = username;
+        this.email = email;
+        this.password = password;
+        this.status = status;
+    }
+
+    static ImportRecord rejected(long number, String reason) {
+        ImportRecord record = new ImportRecord(number, null, null, null, null);
+        record.rejectReason = reason;
+        return record;
+    }
+
+    boolean isRejected() {
+        return rejectReason != null;
+    }
+}
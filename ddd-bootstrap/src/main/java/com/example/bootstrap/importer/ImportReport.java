@@ -0,0 +1,13 @@
+package com.example.bootstrap.importer;
+
+/**
+ * 导入结果
+ *
+ * @param skipped 续传时跳过的已处理记录数
+ */
+public record ImportReport(long read, long skipped, long inserted, long rejected, long elapsedMillis) {
+
+    public double recordsPerSecond() {
+        return elapsedMillis > 0 ? (read - skipped) * 1000.0 / elapsedMillis : 0;
+    }
+}
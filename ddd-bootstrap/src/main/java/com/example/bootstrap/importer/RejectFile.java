@@ -0,0 +1,74 @@
+package com.example.bootstrap.importer;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 拒绝文件，每行一条被拒绝的记录及原因，不写入密码
+ * 续传时截断到检查点记录的长度，丢弃检查点之后已写出的行
+ */
+class RejectFile implements Closeable {
+
+    private static final String HEADER = "record,reason,username,email\n";
+
+    private final FileChannel channel;
+    private final Writer writer;
+    private long count;
+
+    RejectFile(Path path, long resumeBytes) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.truncate(resumeBytes);
+        channel.position(resumeBytes);
+        this.writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8));
+        if (resumeBytes == 0) {
+            writer.write(HEADER);
+        }
+    }
+
+    void write(ImportRecord record) throws IOException {
+        writer.write(Long.toString(record.number));
+        writer.write(',');
+        writer.write(escape(record.rejectReason));
+        writer.write(',');
+        writer.write(escape(record.username));
+        writer.write(',');
+        writer.write(escape(record.email));
+        writer.write('\n');
+        count++;
+    }
+
+    /**
+     * 刷出缓冲并返回当前文件长度
+     */
+    long flush() throws IOException {
+        writer.flush();
+        return channel.position();
+    }
+
+    long count() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,360 @@
+package com.example.bootstrap.importer;
+
+import com.example.application.audit.ActorContext;
+import com.example.application.bulk.UserImportWriter;
+import com.example.application.command.CreateUserCommand;
+import com.example.domain.model.user.User;
+import com.example.domain.model.user.UserStatus;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 用户CSV导入流水线
+ * 解析、校验、去重、写入四个阶段各一个线程，阶段之间用有界队列传递记录块，队列满时上游阻塞形成背压。
+ * 去重集合在去重阶段启动时一次性加载，与解析和校验并行进行。
+ * 写入阶段按记录顺序处理，每提交一批就刷新拒绝文件并保存检查点，中断后从检查点续传。
+ */
+@Slf4j
+public class UserCsvImportPipeline {
+
+    private static final List<ImportRecord> END = List.of();
+
+    private static final int CHUNK_SIZE = 500;
+
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final UserImportWriter userImportWriter;
+    private final Validator validator;
+    private final Options options;
+
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    public UserCsvImportPipeline(UserImportWriter userImportWriter, Validator validator, Options options) {
+        this.userImportWriter = userImportWriter;
+        this.validator = validator;
+        this.options = options;
+    }
+
+    /**
+     * 导入参数
+     *
+     * @param batchSize     每个插入事务的记录数
+     * @param queueCapacity 阶段之间的队列容量（记录块数）
+     */
+    public record Options(Path file, Path rejectFile, Path checkpointFile, int batchSize, int queueCapacity) {
+
+        public static Options forFile(Path file) {
+            return new Options(file,
+                    file.resolveSibling(file.getFileName() + ".rejects.csv"),
+                    file.resolveSibling(file.getFileName() + ".checkpoint"),
+                    1000, 16);
+        }
+    }
+
+    public ImportReport run() throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        ImportCheckpoint checkpoint = ImportCheckpoint.load(options.checkpointFile(), options.file());
+        if (checkpoint.record() > 0) {
+            log.info("Resuming import of {} after record {}", options.file(), checkpoint.record());
+        }
+
+        BlockingQueue<List<ImportRecord>> parsed = new ArrayBlockingQueue<>(options.queueCapacity());
+        BlockingQueue<List<ImportRecord>> validated = new ArrayBlockingQueue<>(options.queueCapacity());
+        BlockingQueue<List<ImportRecord>> deduplicated = new ArrayBlockingQueue<>(options.queueCapacity());
+        long[] counters = new long[2];
+
+        List<Thread> stages = List.of(
+                stage("import-parse", () -> parse(checkpoint.record(), parsed, counters)),
+                stage("import-validate", () -> transform(parsed, validated, this::validate)),
+                stage("import-dedupe", () -> deduplicate(validated, deduplicated)));
+        stages.forEach(Thread::start);
+
+        long inserted;
+        long rejected;
+        try (RejectFile rejectFile = new RejectFile(options.rejectFile(), checkpoint.rejectBytes())) {
+            inserted = write(deduplicated, rejectFile);
+            rejected = rejectFile.count();
+        } catch (IOException | RuntimeException | InterruptedException e) {
+            failure.compareAndSet(null, e);
+            throw e;
+        } finally {
+            for (Thread stage : stages) {
+                if (failure.get() != null) {
+                    stage.interrupt();
+                }
+                stage.join();
+            }
+        }
+        Throwable stageFailure = failure.get();
+        if (stageFailure != null) {
+            throw new IllegalStateException("导入失败: " + stageFailure.getMessage(), stageFailure);
+        }
+        Files.deleteIfExists(options.checkpointFile());
+        return new ImportReport(counters[0], counters[1], inserted, rejected,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private Thread stage(String name, StageTask task) {
+        Thread thread = new Thread(() -> {
+            try {
+                task.run();
+            } catch (InterruptedException e) {
+                failure.compareAndSet(null, e);
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("Import stage {} failed", name, e);
+                failure.compareAndSet(null, e);
+            }
+        }, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    // ---- 解析 ----
+
+    private void parse(long resumeAfter, BlockingQueue<List<ImportRecord>> out, long[] counters)
+            throws IOException, InterruptedException {
+        try (FileChannel channel = FileChannel.open(options.file(), StandardOpenOption.READ);
+             Reader reader = new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8)) {
+            CsvRecordReader csv = new CsvRecordReader(reader);
+            Columns columns = Columns.of(csv.next());
+            List<ImportRecord> chunk = new ArrayList<>(CHUNK_SIZE);
+            long number = 0;
+            List<String> fields;
+            while ((fields = csv.next()) != null) {
+                number++;
+                if (number <= resumeAfter) {
+                    counters[1]++;
+                    continue;
+                }
+                chunk.add(columns.toRecord(number, fields));
+                if (chunk.size() == CHUNK_SIZE) {
+                    put(out, chunk);
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+            counters[0] = number;
+            if (!chunk.isEmpty()) {
+                put(out, chunk);
+            }
+        } finally {
+            put(out, END);
+        }
+    }
+
+    /**
+     * 表头列位置，username、email、password必填，status可选
+     */
+    private record Columns(int username, int email, int password, int status, int count) {
+
+        static Columns of(List<String> header) {
+            if (header == null) {
+                throw new IllegalArgumentException("导入文件为空");
+            }
+            List<String> names = header.stream()
+                    .map(name -> name.trim().toLowerCase(Locale.ROOT))
+                    .collect(Collectors.toList());
+            int username = names.indexOf("username");
+            int email = names.indexOf("email");
+            int password = names.indexOf("password");
+            if (username < 0 || email < 0 || password < 0) {
+                throw new IllegalArgumentException("表头必须包含 username、email、password 列: " + header);
+            }
+            return new Columns(username, email, password, names.indexOf("status"), names.size());
+        }
+
+        ImportRecord toRecord(long number, List<String> fields) {
+            if (fields.size() != count) {
+                return ImportRecord.rejected(number, "列数不匹配: 期望" + count + "列，实际" + fields.size() + "列");
+            }
+            return new ImportRecord(number,
+                    fields.get(username).trim(),
+                    fields.get(email).trim(),
+                    fields.get(password),
+                    status >= 0 ? fields.get(status).trim() : null);
+        }
+    }
+
+    // ---- 校验 ----
+
+    private void validate(ImportRecord record) {
+        if (record.isRejected()) {
+            return;
+        }
+        CreateUserCommand command = new CreateUserCommand(record.username, record.email, record.password);
+        Set<ConstraintViolation<CreateUserCommand>> violations = validator.validate(command);
+        if (!violations.isEmpty()) {
+            record.rejectReason = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            return;
+        }
+        UserStatus status = UserStatus.ACTIVE;
+        if (record.status != null && !record.status.isEmpty()) {
+            try {
+                status = UserStatus.valueOf(record.status.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                record.rejectReason = "未知状态: " + record.status;
+                return;
+            }
+        }
+        User user = User.create(record.username, record.email, record.password, status);
+        user.setCreatedBy(ActorContext.SYSTEM);
+        user.setUpdatedBy(ActorContext.SYSTEM);
+        record.user = user;
+    }
+
+    // ---- 去重 ----
+
+    private void deduplicate(BlockingQueue<List<ImportRecord>> in, BlockingQueue<List<ImportRecord>> out)
+            throws InterruptedException {
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        long loadStart = System.nanoTime();
+        userImportWriter.forEachExisting(usernames::add, emails::add);
+        log.info("Loaded {} existing usernames for deduplication in {} ms",
+                usernames.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - loadStart));
+        transform(in, out, record -> {
+            if (record.isRejected()) {
+                return;
+            }
+            if (!usernames.add(record.username)) {
+                record.rejectReason = "用户名已存在";
+            } else if (!emails.add(record.email)) {
+                usernames.remove(record.username);
+                record.rejectReason = "邮箱已存在";
+            }
+        });
+    }
+
+    // ---- 写入 ----
+
+    private long write(BlockingQueue<List<ImportRecord>> in, RejectFile rejectFile)
+            throws IOException, InterruptedException {
+        List<ImportRecord> batch = new ArrayList<>(options.batchSize());
+        long inserted = 0;
+        long handled = 0;
+        long lastNumber = 0;
+        long lastProgress = System.nanoTime();
+        long progressStart = lastProgress;
+        List<ImportRecord> chunk;
+        while ((chunk = take(in)) != END) {
+            for (ImportRecord record : chunk) {
+                lastNumber = record.number;
+                if (record.isRejected()) {
+                    rejectFile.write(record);
+                } else {
+                    batch.add(record);
+                }
+                if (++handled % options.batchSize() == 0) {
+                    inserted += flush(batch, rejectFile, lastNumber);
+                }
+            }
+            long now = System.nanoTime();
+            if (now - lastProgress >= PROGRESS_INTERVAL_NANOS) {
+                log.info("Imported {} users, rejected {}, at {} records/s", inserted, rejectFile.count(),
+                        Math.round(handled * 1e9 / (now - progressStart)));
+                lastProgress = now;
+            }
+        }
+        if (failure.get() == null) {
+            inserted += flush(batch, rejectFile, lastNumber);
+        }
+        return inserted;
+    }
+
+    /**
+     * 插入当前批次并保存检查点；整批失败时逐条重试，把数据库拒绝的记录写入拒绝文件
+     */
+    private long flush(List<ImportRecord> batch, RejectFile rejectFile, long lastNumber) throws IOException {
+        long inserted = 0;
+        if (!batch.isEmpty()) {
+            try {
+                userImportWriter.insertBatch(batch.stream().map(record -> record.user).toList());
+                inserted = batch.size();
+            } catch (RuntimeException e) {
+                for (ImportRecord record : batch) {
+                    try {
+                        userImportWriter.insertBatch(List.of(record.user));
+                        inserted++;
+                    } catch (RuntimeException rowFailure) {
+                        String message = NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage();
+                        record.rejectReason = "数据库拒绝: " + message.lines().findFirst().orElse("");
+                        rejectFile.write(record);
+                    }
+                }
+            }
+            batch.clear();
+        }
+        if (lastNumber > 0) {
+            new ImportCheckpoint(lastNumber, rejectFile.flush()).save(options.checkpointFile(), options.file());
+        }
+        return inserted;
+    }
+
+    // ---- 队列 ----
+
+    private void transform(BlockingQueue<List<ImportRecord>> in, BlockingQueue<List<ImportRecord>> out,
+                           Consumer<ImportRecord> step) throws InterruptedException {
+        try {
+            List<ImportRecord> chunk;
+            while ((chunk = take(in)) != END) {
+                chunk.forEach(step);
+                put(out, chunk);
+            }
+        } finally {
+            put(out, END);
+        }
+    }
+
+    /**
+     * 其他阶段失败时停止等待，避免上游阻塞在已无人消费的队列上
+     */
+    private void put(BlockingQueue<List<ImportRecord>> queue, List<ImportRecord> chunk) throws InterruptedException {
+        while (!queue.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+            if (failure.get() != null) {
+                throw new InterruptedException("导入已中止");
+            }
+        }
+    }
+
+    private List<ImportRecord> take(BlockingQueue<List<ImportRecord>> queue) throws InterruptedException {
+        List<ImportRecord> chunk;
+        while ((chunk = queue.poll(100, TimeUnit.MILLISECONDS)) == null) {
+            if (failure.get() != null) {
+                return END;
+            }
+        }
+        return chunk;
+    }
+
+    @FunctionalInterface
+    private interface StageTask {
+
+        void run() throws Exception;
+    }
+}
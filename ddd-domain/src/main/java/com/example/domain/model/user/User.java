@@ -4,15 +4,17 @@ import com.example.domain.model.BaseEntity;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 用户领域实体
- * 示例领域模型
+ * 示例领域模型；状态只能通过产生事件的方法修改，持久化层用reconstitute重建
  */
 @Getter
-@Setter
 public class User extends BaseEntity {
     
     @NotBlank(message = "用户名不能为空")
@@ -28,15 +30,45 @@ public class User extends BaseEntity {
     @NotNull(message = "用户状态不能为空")
     private UserStatus status;
     
+    /**
+     * 事件流版本，即已持久化的事件数，用于乐观并发检查
+     */
+    private long version;
+    
+    /**
+     * 尚未持久化的领域事件
+     */
+    @Getter(AccessLevel.NONE)
+    private final List<UserEvent> pendingEvents = new ArrayList<>();
+    
     /**
      * 创建用户
      */
     public static User create(String username, String email, String password) {
+        return create(username, email, password, UserStatus.ACTIVE);
+    }
+    
+    /**
+     * 以指定初始状态创建用户
+     */
+    public static User create(String username, String email, String password, UserStatus status) {
         User user = new User();
-        user.setUsername(username);
-        user.setEmail(email);
-        user.setPassword(password);
-        user.setStatus(UserStatus.ACTIVE);
+        user.raise(new UserCreatedEvent(username, email, password, status));
+        return user;
+    }
+    
+    /**
+     * 从持久化状态重建用户，不产生事件
+     */
+    public static User reconstitute(Long id, String username, String email, String password,
+                                    UserStatus status, long version) {
+        User user = new User();
+        user.setId(id);
+        user.username = username;
+        user.email = email;
+        user.password = password;
+        user.status = status;
+        user.version = version;
         return user;
     }
     
@@ -44,17 +76,29 @@ public class User extends BaseEntity {
      * 激活用户
      */
     public void activate() {
-        if (this.status == UserStatus.INACTIVE) {
-            this.status = UserStatus.ACTIVE;
-        }
+        apply(UserStatusTransition.ACTIVATE);
     }
     
     /**
      * 停用用户
      */
     public void deactivate() {
-        if (this.status == UserStatus.ACTIVE) {
-            this.status = UserStatus.INACTIVE;
+        apply(UserStatusTransition.DEACTIVATE);
+    }
+    
+    /**
+     * 锁定用户
+     */
+    public void lock() {
+        apply(UserStatusTransition.LOCK);
+    }
+    
+    /**
+     * 按规则转换状态，当前状态不满足时保持不变
+     */
+    public void apply(UserStatusTransition transition) {
+        if (transition.appliesTo(this.status)) {
+            raise(new UserStatusChangedEvent(this.status, transition.getTargetStatus()));
         }
     }
     
@@ -63,7 +107,48 @@ public class User extends BaseEntity {
      */
     public void updateEmail(String newEmail) {
         if (newEmail != null && !newEmail.equals(this.email)) {
-            this.email = newEmail;
+            raise(new UserEmailChangedEvent(newEmail));
+        }
+    }
+    
+    /**
+     * 未持久化的事件
+     */
+    public List<UserEvent> getPendingEvents() {
+        return List.copyOf(pendingEvents);
+    }
+    
+    /**
+     * 事件已持久化，推进版本
+     */
+    public void markEventsCommitted() {
+        this.version += pendingEvents.size();
+        pendingEvents.clear();
+    }
+    
+    /**
+     * 重放已持久化的事件以重建状态
+     */
+    public void replay(UserEvent event) {
+        mutate(event);
+        this.version++;
+    }
+    
+    private void raise(UserEvent event) {
+        mutate(event);
+        pendingEvents.add(event);
+    }
+    
+    private void mutate(UserEvent event) {
+        if (event instanceof UserCreatedEvent created) {
+            this.username = created.username();
+            this.email = created.email();
+            this.password = created.password();
+            this.status = created.status();
+        } else if (event instanceof UserStatusChangedEvent changed) {
+            this.status = changed.to();
+        } else if (event instanceof UserEmailChangedEvent changed) {
+            this.email = changed.email();
         }
     }
 }
@@ -0,0 +1,7 @@
+package com.example.domain.model.user;
+
+/**
+ * 用户已创建
+ */
+public record UserCreatedEvent(String username, String email, String password, UserStatus status) implements UserEvent {
+}
@@ -0,0 +1,7 @@
+package com.example.domain.model.user;
+
+/**
+ * 用户已删除，事件流在此结束
+ */
+public record UserDeletedEvent() implements UserEvent {
+}
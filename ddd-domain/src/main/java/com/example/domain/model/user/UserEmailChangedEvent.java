@@ -0,0 +1,7 @@
+package com.example.domain.model.user;
+
+/**
+ * 用户邮箱已变更
+ */
+public record UserEmailChangedEvent(String email) implements UserEvent {
+}
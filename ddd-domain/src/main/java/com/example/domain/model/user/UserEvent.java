@@ -0,0 +1,8 @@
+package com.example.domain.model.user;
+
+/**
+ * 用户领域事件
+ * 由聚合方法产生，事件溯源仓储将其追加到事件流，其他仓储忽略
+ */
+public interface UserEvent {
+}
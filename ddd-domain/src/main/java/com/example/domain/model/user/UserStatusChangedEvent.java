@@ -0,0 +1,7 @@
+package com.example.domain.model.user;
+
+/**
+ * 用户状态已变更
+ */
+public record UserStatusChangedEvent(UserStatus from, UserStatus to) implements UserEvent {
+}
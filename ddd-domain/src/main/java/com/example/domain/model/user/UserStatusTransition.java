@@ -0,0 +1,41 @@
+package com.example.domain.model.user;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 用户状态转换规则
+ * 单个用户的状态方法和批量的集合更新共用同一份规则
+ */
+public enum UserStatusTransition {
+    
+    ACTIVATE(UserStatus.ACTIVE, EnumSet.of(UserStatus.INACTIVE)),
+    
+    DEACTIVATE(UserStatus.INACTIVE, EnumSet.of(UserStatus.ACTIVE)),
+    
+    LOCK(UserStatus.LOCKED, EnumSet.of(UserStatus.ACTIVE, UserStatus.INACTIVE));
+    
+    private final UserStatus targetStatus;
+    
+    private final Set<UserStatus> sourceStatuses;
+    
+    UserStatusTransition(UserStatus targetStatus, Set<UserStatus> sourceStatuses) {
+        this.targetStatus = targetStatus;
+        this.sourceStatuses = sourceStatuses;
+    }
+    
+    public UserStatus getTargetStatus() {
+        return targetStatus;
+    }
+    
+    /**
+     * 允许转换的源状态，其他状态的用户保持不变
+     */
+    public Set<UserStatus> getSourceStatuses() {
+        return EnumSet.copyOf(sourceStatuses);
+    }
+    
+    public boolean appliesTo(UserStatus status) {
+        return sourceStatuses.contains(status);
+    }
+}
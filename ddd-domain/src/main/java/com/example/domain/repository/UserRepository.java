@@ -24,6 +24,13 @@ public interface UserRepository {
      */
     Optional<User> findById(Long id);
     
+    /**
+     * 根据ID批量查找用户，不存在或已删除的ID被忽略
+     * @param ids 用户ID
+     * @return 用户列表，顺序不保证
+     */
+    java.util.List<User> findAllById(java.util.Collection<Long> ids);
+    
     /**
      * 根据用户名查找用户
      * @param username 用户名
@@ -39,20 +46,20 @@ public interface UserRepository {
     Optional<User> findByEmail(String email);
     
     /**
-     * 删除用户
+     * 删除用户，删除后各查询不再返回该用户
      * @param id 用户ID
      */
     void deleteById(Long id);
     
     /**
-     * 判断用户名是否存在
+     * 判断用户名是否存在，已删除但尚未物理清理的用户仍占用用户名
      * @param username 用户名
      * @return 是否存在
      */
     boolean existsByUsername(String username);
     
     /**
-     * 判断邮箱是否存在
+     * 判断邮箱是否存在，已删除但尚未物理清理的用户仍占用邮箱
      * @param email 邮箱
      * @return 是否存在
      */
@@ -63,5 +70,13 @@ public interface UserRepository {
      * @return 用户列表
      */
     java.util.List<User> findAll();
+    
+    /**
+     * 按ID游标分页查询用户
+     * @param afterId 上一页最后一个用户ID，首页传null
+     * @param limit 每页数量
+     * @return 用户列表，按ID升序
+     */
+    java.util.List<User> findPage(Long afterId, int limit);
 }
 
@@ -3,27 +3,73 @@ package com.example.domain.service;
 import com.example.domain.model.user.User;
 import com.example.domain.repository.UserRepository;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * 用户领域服务
  * 处理跨实体的业务逻辑
  */
 public class UserDomainService {
     
+    private static final int SUGGESTION_ATTEMPTS = 50;
+    
     private final UserRepository userRepository;
     
+    private final UsernameIndex usernameIndex;
+    
     public UserDomainService(UserRepository userRepository) {
+        this(userRepository, null);
+    }
+    
+    public UserDomainService(UserRepository userRepository, UsernameIndex usernameIndex) {
         this.userRepository = userRepository;
+        this.usernameIndex = usernameIndex;
     }
     
     /**
      * 检查用户名是否可用
+     * 索引就绪时直接查内存索引，否则查询仓储
      * @param username 用户名
      * @return 是否可用
      */
     public boolean isUsernameAvailable(String username) {
+        if (usernameIndex != null && usernameIndex.isReady()) {
+            return !usernameIndex.contains(username);
+        }
         return !userRepository.existsByUsername(username);
     }
     
+    /**
+     * 以prefix开头的已占用用户名，索引未就绪时返回空列表
+     * @param prefix 前缀
+     * @param limit 最大数量
+     * @return 已占用的用户名
+     */
+    public List<String> findTakenUsernames(String prefix, int limit) {
+        if (usernameIndex == null || !usernameIndex.isReady()) {
+            return List.of();
+        }
+        return usernameIndex.findByPrefix(prefix, limit);
+    }
+    
+    /**
+     * 为已占用的用户名生成可用的替代建议
+     * @param username 用户名
+     * @param limit 最大数量
+     * @return 可用的用户名
+     */
+    public List<String> suggestAvailableUsernames(String username, int limit) {
+        List<String> suggestions = new ArrayList<>(limit);
+        for (int i = 1; i <= SUGGESTION_ATTEMPTS && suggestions.size() < limit; i++) {
+            String candidate = username + i;
+            if (isUsernameAvailable(candidate)) {
+                suggestions.add(candidate);
+            }
+        }
+        return suggestions;
+    }
+    
     /**
      * 检查邮箱是否可用
      * @param email 邮箱
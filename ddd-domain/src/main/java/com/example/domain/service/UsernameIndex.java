@@ -0,0 +1,26 @@
+package com.example.domain.service;
+
+import java.util.List;
+
+/**
+ * 用户名索引
+ * 内存中的只读索引，用于快速判断用户名是否被占用和前缀补全；
+ * 索引可能短暂落后于数据库，数据库唯一约束仍是最终保证
+ */
+public interface UsernameIndex {
+    
+    /**
+     * 索引是否已加载完成，未就绪时调用方应回退到仓储查询
+     */
+    boolean isReady();
+    
+    /**
+     * 用户名是否已被占用
+     */
+    boolean contains(String username);
+    
+    /**
+     * 按字典序返回以prefix开头的已占用用户名
+     */
+    List<String> findByPrefix(String prefix, int limit);
+}
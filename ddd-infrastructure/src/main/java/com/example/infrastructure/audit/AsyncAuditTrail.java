@@ -0,0 +1,231 @@
+package com.example.infrastructure.audit;
+
+import com.example.application.audit.AuditEntry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 异步审计
+ * 事务提交后在请求线程把审计记录放入预分配的无锁环形缓冲，单个后台线程按批写入目标；
+ * 缓冲满时按配置等待、丢弃或溢出到本地文件，写入失败的批次也转入溢出文件，缓冲空闲时回放
+ */
+@Slf4j
+public class AsyncAuditTrail implements DisposableBean {
+
+    private static final long SPILL_REPLAY_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final AuditProperties properties;
+    private final AuditRingBuffer<AuditEntry> buffer;
+    private final AuditSink sink;
+    private final AuditSpillFile spillFile;
+    private final Thread consumer;
+    private volatile boolean running = true;
+
+    private final Counter published;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter spilled;
+    private final Counter failed;
+    private final Counter rejected;
+    private final Timer lag;
+    private final Timer blocked;
+
+    public AsyncAuditTrail(
+            AuditProperties properties,
+            AuditSink sink,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.buffer = new AuditRingBuffer<>(properties.getBufferCapacity());
+        this.sink = sink;
+        this.spillFile = new AuditSpillFile(Path.of(properties.getSpillPath()), objectMapper);
+        this.consumer = new Thread(this::consume, "audit-consumer");
+        this.consumer.setDaemon(true);
+        if (meterRegistry != null) {
+            Gauge.builder("audit.buffer.pending", buffer, AuditRingBuffer::size)
+                    .description("环形缓冲中等待写入的审计记录数")
+                    .register(meterRegistry);
+            Gauge.builder("audit.buffer.capacity", buffer, AuditRingBuffer::capacity)
+                    .register(meterRegistry);
+            Gauge.builder("audit.lag.seconds", this, AsyncAuditTrail::lagSeconds)
+                    .description("缓冲中最早一条审计记录已等待的时间，缓冲为空时为0")
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            this.published = outcome(meterRegistry, "published");
+            this.written = outcome(meterRegistry, "written");
+            this.dropped = outcome(meterRegistry, "dropped");
+            this.spilled = outcome(meterRegistry, "spilled");
+            this.failed = outcome(meterRegistry, "failed");
+            this.rejected = outcome(meterRegistry, "rejected");
+            this.lag = Timer.builder("audit.lag")
+                    .description("审计记录从发生到写入目标的延迟")
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry);
+            this.blocked = Timer.builder("audit.publish.blocked")
+                    .description("BLOCK策略下请求线程等待缓冲空位的时间")
+                    .register(meterRegistry);
+        } else {
+            this.published = null;
+            this.written = null;
+            this.dropped = null;
+            this.spilled = null;
+            this.failed = null;
+            this.rejected = null;
+            this.lag = null;
+            this.blocked = null;
+        }
+    }
+
+    public void start() {
+        consumer.start();
+    }
+
+    /**
+     * 写操作所在事务提交后由请求线程调用；没有事务时立即调用
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAudit(AuditEntry entry) {
+        increment(published, 1);
+        if (buffer.offer(entry)) {
+            return;
+        }
+        switch (properties.getOverflowPolicy()) {
+            case BLOCK -> blockUntilOffered(entry);
+            case DROP -> increment(dropped, 1);
+            case SPILL -> spill(List.of(entry));
+        }
+    }
+
+    public int pending() {
+        return buffer.size();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException, IOException {
+        running = false;
+        LockSupport.unpark(consumer);
+        consumer.join(TimeUnit.SECONDS.toMillis(10));
+        spillFile.close();
+        if (sink instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Failed to close audit sink", e);
+            }
+        }
+    }
+
+    private void blockUntilOffered(AuditEntry entry) {
+        long start = System.nanoTime();
+        long deadline = start + properties.getBlockTimeout().toNanos();
+        boolean offered = false;
+        while (!offered && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            offered = buffer.offer(entry);
+        }
+        if (blocked != null) {
+            blocked.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!offered) {
+            increment(dropped, 1);
+        }
+    }
+
+    private void consume() {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        long pollNanos = properties.getPollInterval().toNanos();
+        long lastReplay = System.nanoTime() - SPILL_REPLAY_INTERVAL_NANOS;
+        List<AuditEntry> batch = new ArrayList<>(batchSize);
+        while (running || buffer.size() > 0) {
+            batch.clear();
+            if (buffer.drainTo(batch, batchSize) > 0) {
+                write(batch);
+                continue;
+            }
+            if (spillFile.hasPending() && System.nanoTime() - lastReplay >= SPILL_REPLAY_INTERVAL_NANOS) {
+                lastReplay = System.nanoTime();
+                replaySpill(batchSize);
+                continue;
+            }
+            if (running) {
+                LockSupport.parkNanos(pollNanos);
+            }
+        }
+    }
+
+    private void write(List<AuditEntry> batch) {
+        try {
+            sink.append(batch);
+        } catch (RuntimeException e) {
+            log.warn("Failed to write {} audit entries, spilling to {}", batch.size(), properties.getSpillPath(), e);
+            increment(failed, batch.size());
+            spill(batch);
+            return;
+        }
+        increment(written, batch.size());
+        Instant now = Instant.now();
+        if (lag != null) {
+            for (AuditEntry entry : batch) {
+                lag.record(Duration.between(entry.occurredAt(), now));
+            }
+        }
+    }
+
+    private void spill(List<AuditEntry> entries) {
+        try {
+            spillFile.append(entries);
+            increment(spilled, entries.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to spill {} audit entries, dropping them", entries.size(), e);
+            increment(dropped, entries.size());
+        }
+    }
+
+    private void replaySpill(int batchSize) {
+        try {
+            AuditSpillFile.ReplayResult result = spillFile.replay(batch -> {
+                sink.append(batch);
+                increment(written, batch.size());
+            }, batchSize);
+            increment(rejected, result.rejected());
+            if (result.replayed() > 0 || result.rejected() > 0) {
+                log.info("Replayed {} spilled audit entries, rejected {} unreadable lines",
+                        result.replayed(), result.rejected());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to replay spilled audit entries, will retry", e);
+        }
+    }
+
+    private double lagSeconds() {
+        AuditEntry oldest = buffer.peek();
+        return oldest == null ? 0 : Duration.between(oldest.occurredAt(), Instant.now()).toNanos() / 1e9;
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("audit.entries").tag("outcome", outcome).register(meterRegistry);
+    }
+
+    private static void increment(Counter counter, double amount) {
+        if (counter != null) {
+            counter.increment(amount);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.infrastructure.audit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 审计配置
+ */
+@Data
+@ConfigurationProperties(prefix = "app.audit")
+public class AuditProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * 环形缓冲容量，向上取整为2的幂
+     */
+    private int bufferCapacity = 8192;
+
+    /**
+     * 缓冲满时的处理方式
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.SPILL;
+
+    /**
+     * BLOCK策略下请求线程最长等待时间，超时后丢弃
+     */
+    private Duration blockTimeout = Duration.ofMillis(100);
+
+    /**
+     * 消费线程每批写入的最大条数
+     */
+    private int batchSize = 500;
+
+    /**
+     * 缓冲为空时消费线程的等待间隔，也是审计写入的最大额外延迟
+     */
+    private Duration pollInterval = Duration.ofMillis(50);
+
+    /**
+     * 写入目标：jdbc（user_audit表）| file（滚动JSON Lines文件）
+     */
+    private String sink = "jdbc";
+
+    /**
+     * file写入目标的当前文件，滚动后的文件带时间戳后缀放在同一目录
+     */
+    private String filePath = "./audit/audit.jsonl";
+
+    /**
+     * 单个审计文件的大小上限
+     */
+    private long maxFileSize = 64L * 1024 * 1024;
+
+    /**
+     * 保留的滚动文件数，0表示全部保留
+     */
+    private int maxFiles = 20;
+
+    /**
+     * 缓冲满或写入失败时溢出到的本地文件，缓冲空闲时回放
+     */
+    private String spillPath = "./audit/spill.jsonl";
+
+    public enum OverflowPolicy {
+        /**
+         * 请求线程等待空位，超过blockTimeout后丢弃
+         */
+        BLOCK,
+        /**
+         * 立即丢弃并计数
+         */
+        DROP,
+        /**
+         * 同步追加到溢出文件，不丢失但由请求线程承担一次文件写入
+         */
+        SPILL
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.infrastructure.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 预分配的无锁有界环形缓冲，多生产者单消费者
+ * 每个槽位带一个序号：等于写入位置时可写，等于位置+1时可读，读走后推进一圈。
+ * 生产者用CAS争抢写入位置，不加锁、不分配；缓冲满时offer立即返回false
+ */
+final class AuditRingBuffer<T> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final AtomicReferenceArray<T> slots;
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * 只由消费线程写入
+     */
+    private volatile long head;
+
+    /**
+     * @param requestedCapacity 期望容量，向上取整为2的幂
+     */
+    AuditRingBuffer(int requestedCapacity) {
+        this.capacity = requestedCapacity <= 2 ? 2 : Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.sequences = new AtomicLongArray(capacity);
+        this.slots = new AtomicReferenceArray<>(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 写入一个元素，缓冲已满时返回false
+     */
+    boolean offer(T element) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false;
+            } else {
+                // 其他生产者已抢到该位置，重读tail
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * 取出最多max个已发布的元素，只能由消费线程调用
+     * @return 取出的个数
+     */
+    int drainTo(List<T> sink, int max) {
+        long position = head;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            sink.add(slots.get(index));
+            slots.lazySet(index, null);
+            sequences.set(index, position + capacity);
+            position++;
+            drained++;
+        }
+        head = position;
+        return drained;
+    }
+
+    /**
+     * 最早一个尚未取出的元素，没有时为null；可由任意线程调用，结果只是近似值
+     */
+    T peek() {
+        long position = head;
+        int index = (int) (position & mask);
+        return sequences.get(index) == position + 1 ? slots.get(index) : null;
+    }
+
+    /**
+     * 已写入尚未取出的元素数，包括正在写入的槽位
+     */
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.infrastructure.audit;
+
+import com.example.application.audit.AuditEntry;
+
+import java.util.List;
+
+/**
+ * 审计写入目标，只由消费线程调用
+ */
+public interface AuditSink {
+
+    /**
+     * 追加一批审计记录，失败时抛出异常，由调用方转入溢出文件
+     */
+    void append(List<AuditEntry> entries);
+}
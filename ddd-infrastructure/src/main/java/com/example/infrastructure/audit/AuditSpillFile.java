@@ -0,0 +1,194 @@
+package com.example.infrastructure.audit;
+
+import com.example.application.audit.AuditEntry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 审计溢出文件
+ * 缓冲满（SPILL策略）或写入目标失败时追加到本地文件；回放时先改名为.replaying，
+ * 新的溢出写入新文件，回放成功后删除。每写入一批就把已回放的行数记到.offset，
+ * 中途失败后从该行继续，只有失败的那一批可能重复；无法解析的行（如崩溃时写了一半）移到.rejects并跳过
+ */
+@Slf4j
+class AuditSpillFile {
+
+    /**
+     * 一次回放的结果
+     * @param replayed 成功写入的条数
+     * @param rejected 无法解析而移到.rejects的行数
+     */
+    record ReplayResult(long replayed, long rejected) {
+    }
+
+    private final Path file;
+    private final Path replaying;
+    private final Path offset;
+    private final Path rejects;
+    private final ObjectMapper objectMapper;
+    private BufferedWriter writer;
+    private volatile boolean pending;
+
+    AuditSpillFile(Path file, ObjectMapper objectMapper) {
+        this.file = file.toAbsolutePath();
+        this.replaying = this.file.resolveSibling(this.file.getFileName() + ".replaying");
+        this.offset = this.file.resolveSibling(this.file.getFileName() + ".replaying.offset");
+        this.rejects = this.file.resolveSibling(this.file.getFileName() + ".rejects");
+        this.objectMapper = objectMapper;
+        this.pending = Files.exists(this.file) || Files.exists(replaying);
+    }
+
+    synchronized void append(List<AuditEntry> entries) {
+        try {
+            if (writer == null) {
+                Files.createDirectories(file.getParent());
+                boolean torn = endsWithoutNewline(file);
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                if (torn) {
+                    // 上次进程在写一行时退出，另起一行，避免新记录和残行拼在一起
+                    writer.newLine();
+                }
+            }
+            for (AuditEntry entry : entries) {
+                writer.write(objectMapper.writeValueAsString(entry));
+                writer.newLine();
+            }
+            writer.flush();
+            pending = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to spill audit entries to " + file, e);
+        }
+    }
+
+    boolean hasPending() {
+        return pending;
+    }
+
+    /**
+     * 按批回放溢出的记录，只由消费线程调用
+     * @param sink 写入一批记录，抛出异常时回放中止，下次从这一批重新开始
+     */
+    ReplayResult replay(Consumer<List<AuditEntry>> sink, int batchSize) {
+        try {
+            synchronized (this) {
+                if (!Files.exists(replaying)) {
+                    if (writer != null) {
+                        writer.close();
+                        writer = null;
+                    }
+                    if (!Files.exists(file)) {
+                        pending = false;
+                        return new ReplayResult(0, 0);
+                    }
+                    Files.deleteIfExists(offset);
+                    Files.move(file, replaying, StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+            long skip = readOffset();
+            long lineNumber = 0;
+            long replayed = 0;
+            long rejected = 0;
+            List<AuditEntry> batch = new ArrayList<>(batchSize);
+            try (BufferedReader reader = Files.newBufferedReader(replaying, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (lineNumber <= skip || line.isBlank()) {
+                        continue;
+                    }
+                    AuditEntry entry = parse(line, lineNumber);
+                    if (entry == null) {
+                        rejected++;
+                        continue;
+                    }
+                    batch.add(entry);
+                    if (batch.size() == batchSize) {
+                        sink.accept(batch);
+                        replayed += batch.size();
+                        writeOffset(lineNumber);
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                sink.accept(batch);
+                replayed += batch.size();
+            }
+            Files.delete(replaying);
+            Files.deleteIfExists(offset);
+            synchronized (this) {
+                pending = writer != null || Files.exists(file);
+            }
+            return new ReplayResult(replayed, rejected);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to replay audit spill file " + replaying, e);
+        }
+    }
+
+    /**
+     * 解析一行，失败时原样追加到.rejects并返回null
+     */
+    private AuditEntry parse(String line, long lineNumber) throws IOException {
+        try {
+            return objectMapper.readValue(line, AuditEntry.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping unreadable audit spill line {} of {}, moved to {}",
+                    lineNumber, replaying, rejects.getFileName());
+            Files.writeString(rejects, line + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            return null;
+        }
+    }
+
+    private long readOffset() throws IOException {
+        if (!Files.exists(offset)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(Files.readString(offset).trim());
+        } catch (NumberFormatException e) {
+            // 记录进度时崩溃，从头重放
+            return 0;
+        }
+    }
+
+    private void writeOffset(long lineNumber) throws IOException {
+        Files.writeString(offset, Long.toString(lineNumber), StandardCharsets.UTF_8);
+    }
+
+    private static boolean endsWithoutNewline(Path path) throws IOException {
+        if (!Files.exists(path) || Files.size(path) == 0) {
+            return false;
+        }
+        try (SeekableByteChannel channel = Files.newByteChannel(path)) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.position(channel.size() - 1);
+            channel.read(last);
+            return last.get(0) != '\n';
+        }
+    }
+
+    synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.infrastructure.audit;
+
+import com.example.application.audit.AuditEntry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * 写入user_audit表，每批一个事务、一次executeBatch；字段变更以JSON存储
+ */
+public class JdbcAuditSink implements AuditSink {
+
+    static final String DDL = """
+            CREATE TABLE IF NOT EXISTS user_audit (
+                id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                occurred_at TIMESTAMP NOT NULL,
+                actor VARCHAR(255) NOT NULL,
+                action VARCHAR(20) NOT NULL,
+                user_id BIGINT,
+                changes VARCHAR(4000) NOT NULL
+            )""";
+
+    static final String INDEX_DDL =
+            "CREATE INDEX IF NOT EXISTS idx_user_audit_user ON user_audit (user_id, occurred_at)";
+
+    private static final String INSERT =
+            "INSERT INTO user_audit (occurred_at, actor, action, user_id, changes) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public JdbcAuditSink(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public void initializeSchema() {
+        jdbcTemplate.execute(DDL);
+        jdbcTemplate.execute(INDEX_DDL);
+    }
+
+    @Override
+    public void append(List<AuditEntry> entries) {
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT, entries, entries.size(), (ps, entry) -> {
+                    ps.setTimestamp(1, Timestamp.from(entry.occurredAt()));
+                    ps.setString(2, entry.actor());
+                    ps.setString(3, entry.action().name());
+                    ps.setObject(4, entry.userId());
+                    ps.setString(5, toJson(entry));
+                }));
+    }
+
+    private String toJson(AuditEntry entry) {
+        try {
+            return objectMapper.writeValueAsString(entry.changes());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.infrastructure.audit;
+
+import com.example.application.audit.AuditEntry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 写入滚动的JSON Lines文件，每行一条审计记录
+ * 每批写完后force到磁盘；当前文件超过大小上限时改名为带时间戳的文件并新建，超出保留数的旧文件删除
+ */
+@Slf4j
+public class RollingFileAuditSink implements AuditSink, AutoCloseable {
+
+    private static final DateTimeFormatter ROLL_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss.SSS");
+
+    private final Path file;
+    private final String baseName;
+    private final long maxFileSize;
+    private final int maxFiles;
+    private final ObjectMapper objectMapper;
+    private FileChannel channel;
+
+    public RollingFileAuditSink(Path file, long maxFileSize, int maxFiles, ObjectMapper objectMapper) {
+        this.file = file.toAbsolutePath();
+        String name = this.file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        this.baseName = dot > 0 ? name.substring(0, dot) : name;
+        this.maxFileSize = maxFileSize;
+        this.maxFiles = maxFiles;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void append(List<AuditEntry> entries) {
+        try {
+            if (channel == null) {
+                Files.createDirectories(file.getParent());
+                channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.APPEND);
+            }
+            for (AuditEntry entry : entries) {
+                ByteBuffer line = ByteBuffer.wrap(objectMapper.writeValueAsBytes(entry));
+                while (line.hasRemaining()) {
+                    channel.write(line);
+                }
+                channel.write(ByteBuffer.wrap(new byte[]{'\n'}));
+            }
+            channel.force(false);
+            if (channel.size() >= maxFileSize) {
+                roll();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append audit entries to " + file, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void roll() throws IOException {
+        close();
+        String suffix = ROLL_SUFFIX.format(ZonedDateTime.now(ZoneOffset.UTC));
+        Files.move(file, file.resolveSibling(baseName + "-" + suffix + ".jsonl"));
+        if (maxFiles <= 0) {
+            return;
+        }
+        List<Path> rolled = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(file.getParent(), baseName + "-*.jsonl")) {
+            stream.forEach(rolled::add);
+        }
+        rolled.sort(null);
+        for (int i = 0; i < rolled.size() - maxFiles; i++) {
+            Files.deleteIfExists(rolled.get(i));
+            log.debug("Deleted rolled audit file {}", rolled.get(i));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.infrastructure.config;
+
+import com.example.infrastructure.audit.AsyncAuditTrail;
+import com.example.infrastructure.audit.AuditProperties;
+import com.example.infrastructure.audit.AuditSink;
+import com.example.infrastructure.audit.JdbcAuditSink;
+import com.example.infrastructure.audit.RollingFileAuditSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+
+/**
+ * 审计配置
+ * 应用服务发布的审计记录经环形缓冲异步写入user_audit表（主数据源）或滚动文件
+ */
+@Configuration
+@EnableConfigurationProperties(AuditProperties.class)
+@ConditionalOnProperty(prefix = "app.audit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AuditConfig {
+
+    @Bean(destroyMethod = "destroy")
+    public AsyncAuditTrail auditTrail(
+            AuditProperties properties,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        AsyncAuditTrail auditTrail = new AsyncAuditTrail(properties,
+                sink(properties, dataSource, transactionManager, objectMapper), objectMapper,
+                meterRegistry.getIfAvailable());
+        auditTrail.start();
+        return auditTrail;
+    }
+
+    private static AuditSink sink(
+            AuditProperties properties,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper) {
+        return switch (properties.getSink()) {
+            case "jdbc" -> {
+                JdbcAuditSink sink = new JdbcAuditSink(new JdbcTemplate(dataSource),
+                        new TransactionTemplate(transactionManager), objectMapper);
+                sink.initializeSchema();
+                yield sink;
+            }
+            case "file" -> new RollingFileAuditSink(Path.of(properties.getFilePath()),
+                    properties.getMaxFileSize(), properties.getMaxFiles(), objectMapper);
+            default -> throw new IllegalStateException("Unknown audit sink: " + properties.getSink());
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.infrastructure.config;
+
+import com.example.application.bulk.UserBulkStatusWriter;
+import com.example.application.bulk.UserImportWriter;
+import com.example.infrastructure.persistence.bulk.JdbcUserBulkStatusWriter;
+import com.example.infrastructure.persistence.bulk.JdbcUserImportWriter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 批量操作配置
+ * 未分片时直接在主数据源上执行集合更新和批量导入，分片时的实现见ShardingConfig
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.persistence", name = "user-repository", havingValue = "jpa", matchIfMissing = true)
+public class BulkOperationConfig {
+
+    @Bean
+    public UserBulkStatusWriter userBulkStatusWriter(JdbcTemplate jdbcTemplate) {
+        return new JdbcUserBulkStatusWriter(List.of(jdbcTemplate));
+    }
+
+    @Bean
+    public UserImportWriter userImportWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        return new JdbcUserImportWriter(jdbcTemplate, new TransactionTemplate(transactionManager));
+    }
+}
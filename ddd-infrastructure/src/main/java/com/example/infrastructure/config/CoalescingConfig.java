@@ -0,0 +1,38 @@
+package com.example.infrastructure.config;
+
+import com.example.infrastructure.persistence.coalescing.CoalescingEndpoint;
+import com.example.infrastructure.persistence.coalescing.CoalescingStats;
+import com.example.infrastructure.persistence.coalescing.CoalescingUserRepositoryPostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 合并读取配置
+ * 同一用户的并发读取合并为一次数据库查询
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.persistence.coalescing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CoalescingConfig {
+
+    @Bean
+    public static CoalescingUserRepositoryPostProcessor coalescingUserRepositoryPostProcessor(
+            ObjectProvider<CoalescingStats> coalescingStats) {
+        return new CoalescingUserRepositoryPostProcessor(coalescingStats);
+    }
+
+    @Bean
+    public CoalescingStats coalescingStats(
+            @Value("${app.persistence.coalescing.max-tracked-keys:10000}") int maxTrackedKeys,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new CoalescingStats(maxTrackedKeys, meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    public CoalescingEndpoint coalescingEndpoint(CoalescingStats coalescingStats) {
+        return new CoalescingEndpoint(coalescingStats);
+    }
+}
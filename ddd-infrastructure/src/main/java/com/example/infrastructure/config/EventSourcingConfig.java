@@ -0,0 +1,110 @@
+package com.example.infrastructure.config;
+
+import com.example.application.bulk.UserBulkStatusWriter;
+import com.example.application.bulk.UserImportWriter;
+import com.example.domain.repository.UserRepository;
+import com.example.infrastructure.persistence.bulk.EventSourcedUserBulkStatusWriter;
+import com.example.infrastructure.persistence.bulk.RepositoryUserImportWriter;
+import com.example.infrastructure.persistence.eventstore.EventSourcedUserRepository;
+import com.example.infrastructure.persistence.eventstore.EventStoreProperties;
+import com.example.infrastructure.persistence.eventstore.JdbcUserEventStore;
+import com.example.infrastructure.persistence.index.UsernameLoader;
+import com.example.infrastructure.persistence.query.DomainUserQueryRepository;
+import com.example.infrastructure.persistence.shard.UserDirectory;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * 事件溯源用户存储配置
+ * app.persistence.user-repository=event-sourced 时启用，事件流、快照和全局目录都保存在主数据源；
+ * 开启读写分离时直接绑定主库，副本上没有这些表
+ */
+@Configuration
+@EnableConfigurationProperties(EventStoreProperties.class)
+@ConditionalOnProperty(prefix = "app.persistence", name = "user-repository", havingValue = "event-sourced")
+public class EventSourcingConfig {
+
+    @Bean
+    public UserDirectory userDirectory(
+            DataSource dataSource,
+            @Qualifier("primaryDataSource") ObjectProvider<DataSource> primaryDataSource) {
+        UserDirectory userDirectory = new UserDirectory(primaryJdbcTemplate(dataSource, primaryDataSource));
+        userDirectory.initialize();
+        return userDirectory;
+    }
+
+    @Bean
+    public JdbcUserEventStore userEventStore(
+            DataSource dataSource,
+            @Qualifier("primaryDataSource") ObjectProvider<DataSource> primaryDataSource) {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        JdbcUserEventStore eventStore = new JdbcUserEventStore(
+                primaryJdbcTemplate(dataSource, primaryDataSource), objectMapper);
+        eventStore.initializeSchema();
+        return eventStore;
+    }
+
+    @Bean
+    public EventSourcedUserRepository eventSourcedUserRepository(
+            JdbcUserEventStore userEventStore,
+            UserDirectory userDirectory,
+            EventStoreProperties properties,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new EventSourcedUserRepository(
+                userEventStore, userDirectory, properties, meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    public DomainUserQueryRepository userQueryRepository(UserRepository userRepository) {
+        return new DomainUserQueryRepository(userRepository);
+    }
+
+    @Bean
+    public UserBulkStatusWriter userBulkStatusWriter(
+            DataSource dataSource,
+            @Qualifier("primaryDataSource") ObjectProvider<DataSource> primaryDataSource,
+            UserRepository userRepository) {
+        return new EventSourcedUserBulkStatusWriter(primaryJdbcTemplate(dataSource, primaryDataSource), userRepository);
+    }
+
+    @Bean
+    public UserImportWriter userImportWriter(UserRepository userRepository) {
+        return new RepositoryUserImportWriter(userRepository);
+    }
+
+    /**
+     * 用户名索引直接从全局目录加载，无需重建聚合
+     */
+    @Bean
+    public UsernameLoader usernameLoader(
+            DataSource dataSource,
+            @Qualifier("primaryDataSource") ObjectProvider<DataSource> primaryDataSource) {
+        JdbcTemplate jdbcTemplate = primaryJdbcTemplate(dataSource, primaryDataSource);
+        return sink -> jdbcTemplate.query("SELECT username FROM user_directory", rs -> {
+            sink.accept(rs.getString(1));
+        });
+    }
+
+    /**
+     * 未开启读写分离时没有primaryDataSource，仍使用默认数据源并参与事务
+     */
+    private static JdbcTemplate primaryJdbcTemplate(DataSource dataSource, ObjectProvider<DataSource> primaryDataSource) {
+        return new JdbcTemplate(primaryDataSource.getIfAvailable(() -> dataSource));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.infrastructure.config;
+
+import org.springframework.boot.actuate.endpoint.OperationType;
+import org.springframework.boot.actuate.endpoint.invoke.OperationInvokerAdvisor;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+/**
+ * 管理端点配置
+ * 端点没有鉴权，默认只开放读操作；写操作（触发导出、归档、JFR录制等）需设置
+ * app.management.write-operations-enabled=true，否则返回403
+ */
+@Configuration
+public class ManagementConfig {
+
+    private static final int FORBIDDEN = 403;
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.management", name = "write-operations-enabled",
+            havingValue = "false", matchIfMissing = true)
+    public OperationInvokerAdvisor readOnlyOperationInvokerAdvisor() {
+        return (endpointId, operationType, parameters, invoker) -> {
+            if (operationType == OperationType.READ) {
+                return invoker;
+            }
+            return context -> new WebEndpointResponse<>(
+                    Map.of("message", "管理端点写操作未开启: " + endpointId),
+                    FORBIDDEN);
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.infrastructure.config;
+
+import com.example.infrastructure.profiling.FlightRecorderEndpoint;
+import com.example.infrastructure.profiling.FlightRecorderService;
+import com.example.infrastructure.profiling.JfrEventAspect;
+import com.example.infrastructure.profiling.ProfilingProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JFR性能剖析配置
+ * 持续录制加按需录制，用例和仓储调用以自定义JFR事件记录
+ */
+@Configuration
+@EnableConfigurationProperties(ProfilingProperties.class)
+@ConditionalOnProperty(prefix = "app.profiling", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ProfilingConfig {
+
+    @Bean
+    public FlightRecorderService flightRecorderService(ProfilingProperties properties) {
+        FlightRecorderService service = new FlightRecorderService(properties);
+        if (properties.isContinuous()) {
+            service.startContinuous();
+        }
+        return service;
+    }
+
+    @Bean
+    public JfrEventAspect jfrEventAspect() {
+        return new JfrEventAspect();
+    }
+
+    @Bean
+    public FlightRecorderEndpoint flightRecorderEndpoint(FlightRecorderService flightRecorderService) {
+        return new FlightRecorderEndpoint(flightRecorderService);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.infrastructure.config;
+
+import com.example.application.bulk.UserBulkStatusWriter;
+import com.example.application.bulk.UserImportWriter;
+import com.example.domain.repository.UserRepository;
+import com.example.infrastructure.persistence.bulk.JdbcUserBulkStatusWriter;
+import com.example.infrastructure.persistence.bulk.RepositoryUserImportWriter;
+import com.example.infrastructure.persistence.query.DomainUserQueryRepository;
+import com.example.infrastructure.persistence.shard.Shard;
+import com.example.infrastructure.persistence.shard.ShardRebalancer;
+import com.example.infrastructure.persistence.shard.ShardRouter;
+import com.example.infrastructure.persistence.shard.ShardedUserRepository;
+import com.example.infrastructure.persistence.shard.ShardingProperties;
+import com.example.infrastructure.persistence.shard.UserDirectory;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 用户表分片配置
+ * app.persistence.user-repository=sharded 时启用，全局目录保存在主库
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(prefix = "app.persistence", name = "user-repository", havingValue = "sharded")
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ShardRouter shardRouter(ShardingProperties properties) {
+        List<Shard> shards = new ArrayList<>();
+        for (ShardingProperties.ShardDataSource config : properties.getShards()) {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(config.getUrl())
+                    .username(config.getUsername())
+                    .password(config.getPassword())
+                    .driverClassName(config.getDriverClassName())
+                    .build();
+            dataSource.setPoolName("shard-" + config.getName());
+            dataSource.setMaximumPoolSize(config.getMaximumPoolSize());
+            shards.add(new Shard(config.getName(), dataSource));
+        }
+        return new ShardRouter(shards, properties.getVirtualNodes());
+    }
+
+    /**
+     * 目录是唯一性的权威来源，开启读写分离时固定使用主库，避免读到副本上的旧数据
+     */
+    @Bean
+    public UserDirectory userDirectory(
+            DataSource dataSource,
+            @Qualifier("primaryDataSource") ObjectProvider<DataSource> primaryDataSource) {
+        UserDirectory userDirectory = new UserDirectory(
+                new JdbcTemplate(primaryDataSource.getIfAvailable(() -> dataSource)));
+        userDirectory.initialize();
+        return userDirectory;
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService shardScatterExecutor(ShardingProperties properties) {
+        return Executors.newFixedThreadPool(Math.max(1, properties.getShards().size()), runnable -> {
+            Thread thread = new Thread(runnable, "shard-scatter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Bean
+    public ShardedUserRepository shardedUserRepository(
+            ShardRouter shardRouter,
+            UserDirectory userDirectory,
+            ExecutorService shardScatterExecutor) {
+        ShardedUserRepository repository = new ShardedUserRepository(shardRouter, userDirectory, shardScatterExecutor);
+        repository.initializeSchema();
+        return repository;
+    }
+
+    @Bean
+    public DomainUserQueryRepository userQueryRepository(UserRepository userRepository) {
+        return new DomainUserQueryRepository(userRepository);
+    }
+
+    @Bean
+    public UserBulkStatusWriter userBulkStatusWriter(ShardRouter shardRouter) {
+        return new JdbcUserBulkStatusWriter(shardRouter.shards().stream().map(Shard::jdbcTemplate).toList());
+    }
+
+    @Bean
+    public UserImportWriter userImportWriter(UserRepository userRepository) {
+        return new RepositoryUserImportWriter(userRepository);
+    }
+
+    @Bean
+    public ShardRebalancer shardRebalancer(ShardRouter shardRouter, ShardingProperties properties) {
+        return new ShardRebalancer(shardRouter, properties.getRebalanceBatchSize());
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.infrastructure.config;
+
+import com.example.infrastructure.tracing.FileSpanExporter;
+import com.example.infrastructure.tracing.HeadTailSampler;
+import com.example.infrastructure.tracing.TailSamplingSpanProcessor;
+import com.example.infrastructure.tracing.TracingAspect;
+import com.example.infrastructure.tracing.TracingDataSourcePostProcessor;
+import com.example.infrastructure.tracing.TracingProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.exporter.otlp.http.trace.OtlpHttpSpanExporter;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * OpenTelemetry追踪配置
+ * 头部采样的span经BatchSpanProcessor导出，未被采样但在记录的trace由尾部采样决定是否导出
+ */
+@Configuration
+@EnableConfigurationProperties(TracingProperties.class)
+@ConditionalOnProperty(prefix = "app.tracing", name = "enabled", havingValue = "true")
+public class TracingConfig {
+
+    private static final String INSTRUMENTATION_SCOPE = "com.example.ddd-scaffold";
+
+    @Bean
+    public static TracingDataSourcePostProcessor tracingDataSourcePostProcessor(ObjectProvider<Tracer> tracer) {
+        return new TracingDataSourcePostProcessor(tracer);
+    }
+
+    /**
+     * 由BatchSpanProcessor在SdkTracerProvider关闭时一并关闭
+     */
+    @Bean(destroyMethod = "")
+    public SpanExporter spanExporter(TracingProperties properties) {
+        return switch (properties.getExporter()) {
+            case "otlp" -> OtlpHttpSpanExporter.builder()
+                    .setEndpoint(properties.getOtlpEndpoint())
+                    .build();
+            case "file" -> new FileSpanExporter(Path.of(properties.getFilePath()), new ObjectMapper());
+            case "none" -> SpanExporter.composite();
+            default -> throw new IllegalStateException("Unknown tracing exporter: " + properties.getExporter());
+        };
+    }
+
+    @Bean(destroyMethod = "close")
+    public SdkTracerProvider sdkTracerProvider(
+            TracingProperties properties,
+            SpanExporter spanExporter,
+            @Value("${spring.application.name:ddd-scaffold}") String serviceName,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        TracingProperties.TailSampling tailSampling = properties.getTailSampling();
+        var builder = SdkTracerProvider.builder()
+                .setResource(Resource.getDefault().merge(Resource.create(
+                        Attributes.builder().put("service.name", serviceName).build())))
+                .setSampler(new HeadTailSampler(properties.getHeadSamplingRatio(), tailSampling.isEnabled()))
+                .addSpanProcessor(BatchSpanProcessor.builder(spanExporter).build());
+        if (tailSampling.isEnabled()) {
+            builder.addSpanProcessor(
+                    new TailSamplingSpanProcessor(spanExporter, tailSampling, meterRegistry.getIfAvailable()));
+        }
+        return builder.build();
+    }
+
+    /**
+     * 关闭由SdkTracerProvider负责，避免重复关闭
+     */
+    @Bean(destroyMethod = "")
+    public OpenTelemetry openTelemetry(SdkTracerProvider sdkTracerProvider) {
+        return OpenTelemetrySdk.builder()
+                .setTracerProvider(sdkTracerProvider)
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+                .build();
+    }
+
+    @Bean
+    public Tracer tracer(OpenTelemetry openTelemetry) {
+        return openTelemetry.getTracer(INSTRUMENTATION_SCOPE);
+    }
+
+    @Bean
+    public TracingAspect tracingAspect(Tracer tracer) {
+        return new TracingAspect(tracer);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.infrastructure.config;
+
+import com.example.application.mapper.UserMapper;
+import com.example.infrastructure.persistence.archive.UserArchiveEndpoint;
+import com.example.infrastructure.persistence.archive.UserArchiveProperties;
+import com.example.infrastructure.persistence.archive.UserArchiveTarget;
+import com.example.infrastructure.persistence.archive.UserArchiver;
+import com.example.infrastructure.persistence.shard.Shard;
+import com.example.infrastructure.persistence.shard.ShardRouter;
+import com.example.infrastructure.persistence.shard.UserDirectory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 用户归档配置
+ * 分片时逐分片清理并释放全局目录中的登记，否则在主数据源上清理；
+ * 事件溯源存储的删除本身就是事件，没有users表需要清理，不启用
+ */
+@Configuration
+@EnableConfigurationProperties(UserArchiveProperties.class)
+@ConditionalOnExpression("${app.user-archive.enabled:true} and '${app.persistence.user-repository:jpa}' != 'event-sourced'")
+public class UserArchiveConfig {
+
+    @Bean(destroyMethod = "destroy")
+    public UserArchiver userArchiver(
+            UserArchiveProperties properties,
+            ObjectProvider<ShardRouter> shardRouter,
+            ObjectProvider<UserDirectory> userDirectory,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            UserMapper userMapper,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        List<UserArchiveTarget> targets = new ArrayList<>();
+        ShardRouter router = shardRouter.getIfAvailable();
+        if (router != null) {
+            for (Shard shard : router.shards()) {
+                targets.add(new UserArchiveTarget(shard.name(), shard.jdbcTemplate(),
+                        new TransactionTemplate(new DataSourceTransactionManager(shard.dataSource()))));
+            }
+        } else {
+            targets.add(new UserArchiveTarget("main", new JdbcTemplate(dataSource),
+                    new TransactionTemplate(transactionManager)));
+        }
+        UserArchiver archiver = new UserArchiver(properties, targets,
+                router != null ? userDirectory.getIfAvailable() : null, eventPublisher, userMapper,
+                meterRegistry.getIfAvailable());
+        archiver.initializeSchema();
+        archiver.start();
+        return archiver;
+    }
+
+    @Bean
+    public UserArchiveEndpoint userArchiveEndpoint(UserArchiver userArchiver) {
+        return new UserArchiveEndpoint(userArchiver);
+    }
+}
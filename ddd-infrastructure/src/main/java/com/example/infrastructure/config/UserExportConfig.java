@@ -0,0 +1,76 @@
+package com.example.infrastructure.config;
+
+import com.example.infrastructure.persistence.export.UserExportEndpoint;
+import com.example.infrastructure.persistence.export.UserExportProperties;
+import com.example.infrastructure.persistence.export.UserExportSource;
+import com.example.infrastructure.persistence.export.UserSnapshotExporter;
+import com.example.infrastructure.persistence.shard.Shard;
+import com.example.infrastructure.persistence.shard.ShardRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 用户快照导出配置
+ * 分片时逐分片导出，否则在只读事务中读取主数据源（开启读写分离时落到副本）；
+ * 事件溯源存储没有users表可供区间扫描，不启用
+ */
+@Configuration
+@EnableConfigurationProperties(UserExportProperties.class)
+@ConditionalOnExpression("${app.export.enabled:true} and '${app.persistence.user-repository:jpa}' != 'event-sourced'")
+public class UserExportConfig {
+
+    @Bean
+    public UserSnapshotExporter userSnapshotExporter(
+            UserExportProperties properties,
+            ObjectProvider<ShardRouter> shardRouter,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        List<UserExportSource> sources = new ArrayList<>();
+        ShardRouter router = shardRouter.getIfAvailable();
+        if (router != null) {
+            for (Shard shard : router.shards()) {
+                sources.add(new UserExportSource(shard.name(), exportTemplate(shard.dataSource(), properties), null));
+            }
+        } else {
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            sources.add(new UserExportSource("main", exportTemplate(dataSource, properties), readOnly));
+        }
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        UserSnapshotExporter exporter = new UserSnapshotExporter(
+                properties, sources, objectMapper, meterRegistry.getIfAvailable());
+        if (StringUtils.hasText(properties.getCron())) {
+            exporter.scheduleCron(properties.getCron());
+        }
+        return exporter;
+    }
+
+    @Bean
+    public UserExportEndpoint userExportEndpoint(UserSnapshotExporter userSnapshotExporter) {
+        return new UserExportEndpoint(userSnapshotExporter);
+    }
+
+    private static JdbcTemplate exportTemplate(DataSource dataSource, UserExportProperties properties) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(properties.getFetchSize());
+        return jdbcTemplate;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.infrastructure.config;
+
+import com.example.infrastructure.persistence.index.InMemoryUsernameIndex;
+import com.example.infrastructure.persistence.index.UsernameIndexProperties;
+import com.example.infrastructure.persistence.index.UsernameLoader;
+import com.example.infrastructure.persistence.shard.Shard;
+import com.example.infrastructure.persistence.shard.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * 内存用户名索引配置
+ * 优先使用存储实现提供的UsernameLoader；分片时逐分片加载，
+ * 否则在只读事务中读取主数据源（开启读写分离时落到副本）；
+ * 只有事件溯源存储在删除时立即释放用户名，其余存储保留墓碑直到归档清理
+ */
+@Configuration
+@EnableConfigurationProperties(UsernameIndexProperties.class)
+@ConditionalOnProperty(prefix = "app.username-index", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class UsernameIndexConfig {
+
+    private static final String SELECT_USERNAMES = "SELECT username FROM users";
+
+    @Bean(destroyMethod = "destroy")
+    public InMemoryUsernameIndex usernameIndex(
+            UsernameIndexProperties properties,
+            @Value("${app.persistence.user-repository:jpa}") String userRepository,
+            ObjectProvider<UsernameLoader> usernameLoader,
+            ObjectProvider<ShardRouter> shardRouter,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        UsernameLoader loader = usernameLoader.getIfAvailable(() ->
+                tableLoader(shardRouter.getIfAvailable(), dataSource, transactionManager, properties));
+        InMemoryUsernameIndex index = new InMemoryUsernameIndex(
+                loader, properties, "event-sourced".equals(userRepository), meterRegistry.getIfAvailable());
+        index.start();
+        return index;
+    }
+
+    /**
+     * 从users表加载，包含墓碑行：已删除用户的用户名在物理清理前仍不可注册
+     */
+    private static UsernameLoader tableLoader(
+            ShardRouter router,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            UsernameIndexProperties properties) {
+        if (router != null) {
+            List<JdbcTemplate> templates = router.shards().stream()
+                    .map(Shard::dataSource)
+                    .map(shardDataSource -> loadTemplate(shardDataSource, properties))
+                    .toList();
+            return sink -> templates.forEach(template ->
+                    template.query(SELECT_USERNAMES, rs -> {
+                        sink.accept(rs.getString(1));
+                    }));
+        }
+        JdbcTemplate template = loadTemplate(dataSource, properties);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return sink -> readOnly.executeWithoutResult(status ->
+                template.query(SELECT_USERNAMES, rs -> {
+                    sink.accept(rs.getString(1));
+                }));
+    }
+
+    private static JdbcTemplate loadTemplate(DataSource dataSource, UsernameIndexProperties properties) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(properties.getFetchSize());
+        return jdbcTemplate;
+    }
+}
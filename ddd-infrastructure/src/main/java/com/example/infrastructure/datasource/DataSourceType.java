@@ -0,0 +1,10 @@
+package com.example.infrastructure.datasource;
+
+/**
+ * 数据源类型
+ * 读写分离时的路由键
+ */
+public enum DataSourceType {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,85 @@
+package com.example.infrastructure.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 读写分离路由数据源
+ * 只读事务路由到副本，其余路由到主库。
+ * 必须包装在LazyConnectionDataSourceProxy中，保证获取连接时事务的只读标记已经设置
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Object WRITE_MARKER = new Object();
+
+    private final DataSource primary;
+    private final ReplicaDataSourcePool replicaPool;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReadWriteRoutingDataSource(
+            DataSource primary,
+            ReplicaDataSourcePool replicaPool,
+            ReadYourWritesTracker readYourWritesTracker) {
+        this.primary = primary;
+        this.replicaPool = replicaPool;
+        this.readYourWritesTracker = readYourWritesTracker;
+        setDefaultTargetDataSource(primary);
+        setTargetDataSources(Map.of(DataSourceType.PRIMARY, primary));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentType();
+    }
+
+    @Override
+    protected DataSource determineTargetDataSource() {
+        if (currentType() == DataSourceType.REPLICA) {
+            DataSource replica = replicaPool.next();
+            if (replica != null) {
+                return replica;
+            }
+        }
+        return primary;
+    }
+
+    private DataSourceType currentType() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return DataSourceType.PRIMARY;
+        }
+        String clientKey = ReadYourWritesContext.getClientKey();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            registerWriteCallback(clientKey);
+            return DataSourceType.PRIMARY;
+        }
+        if (readYourWritesTracker.isWithinWindow(clientKey)) {
+            return DataSourceType.PRIMARY;
+        }
+        return DataSourceType.REPLICA;
+    }
+
+    private void registerWriteCallback(String clientKey) {
+        if (clientKey == null
+                || !readYourWritesTracker.isEnabled()
+                || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(WRITE_MARKER)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(WRITE_MARKER, clientKey);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readYourWritesTracker.markWrite(clientKey);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WRITE_MARKER);
+            }
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.infrastructure.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读写分离配置
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class ReadWriteRoutingProperties {
+
+    /**
+     * 是否启用读写分离
+     */
+    private boolean enabled = false;
+
+    /**
+     * 只读副本数据源
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * 副本健康检查间隔
+     */
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * 健康检查超时（秒）
+     */
+    private int healthCheckTimeoutSeconds = 1;
+
+    /**
+     * 写后读窗口，窗口内同一客户端的只读事务仍走主库，为0时关闭
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(2);
+
+    @Data
+    public static class Replica {
+
+        private String name;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private String driverClassName;
+
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.infrastructure.datasource;
+
+/**
+ * 写后读上下文
+ * 绑定当前线程所属的客户端标识，由接入层在请求开始时设置
+ */
+public final class ReadYourWritesContext {
+
+    private static final ThreadLocal<String> CLIENT_KEY = new ThreadLocal<>();
+
+    private ReadYourWritesContext() {
+    }
+
+    public static void setClientKey(String clientKey) {
+        CLIENT_KEY.set(clientKey);
+    }
+
+    public static String getClientKey() {
+        return CLIENT_KEY.get();
+    }
+
+    public static void clear() {
+        CLIENT_KEY.remove();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.infrastructure.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 写后读跟踪器
+ * 记录每个客户端最近一次提交写事务的时间
+ */
+public class ReadYourWritesTracker {
+
+    private static final int EVICTION_THRESHOLD = 10_000;
+
+    private final long windowNanos;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public boolean isEnabled() {
+        return windowNanos > 0;
+    }
+
+    /**
+     * 记录客户端的一次写入
+     */
+    public void markWrite(String clientKey) {
+        if (isEnabled() && clientKey != null) {
+            lastWrites.put(clientKey, System.nanoTime());
+            if (lastWrites.size() > EVICTION_THRESHOLD) {
+                evictExpired();
+            }
+        }
+    }
+
+    /**
+     * 客户端是否仍处于写后读窗口内
+     */
+    public boolean isWithinWindow(String clientKey) {
+        if (!isEnabled() || clientKey == null) {
+            return false;
+        }
+        Long lastWrite = lastWrites.get(clientKey);
+        if (lastWrite == null) {
+            return false;
+        }
+        if (System.nanoTime() - lastWrite < windowNanos) {
+            return true;
+        }
+        lastWrites.remove(clientKey, lastWrite);
+        return false;
+    }
+
+    /**
+     * 清理过期记录
+     */
+    public void evictExpired() {
+        long now = System.nanoTime();
+        lastWrites.values().removeIf(lastWrite -> now - lastWrite >= windowNanos);
+    }
+}
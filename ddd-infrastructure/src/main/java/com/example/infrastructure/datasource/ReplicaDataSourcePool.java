@@ -0,0 +1,127 @@
+package com.example.infrastructure.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 只读副本池
+ * 在健康副本间轮询负载均衡，并定期探活
+ */
+@Slf4j
+public class ReplicaDataSourcePool implements AutoCloseable {
+
+    private final List<ReplicaNode> nodes;
+    private final int healthCheckTimeoutSeconds;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private ScheduledExecutorService healthChecker;
+
+    public ReplicaDataSourcePool(Map<String, DataSource> replicas, int healthCheckTimeoutSeconds) {
+        this.nodes = replicas.entrySet().stream()
+                .map(entry -> new ReplicaNode(entry.getKey(), entry.getValue()))
+                .toList();
+        this.healthCheckTimeoutSeconds = healthCheckTimeoutSeconds;
+    }
+
+    /**
+     * 选择一个健康副本
+     * @return 副本数据源，没有健康副本时返回null
+     */
+    public DataSource next() {
+        int size = nodes.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(cursor.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            ReplicaNode node = nodes.get((start + i) % size);
+            if (node.healthy) {
+                return node.dataSource;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 探测所有副本
+     */
+    public void checkHealth() {
+        for (ReplicaNode node : nodes) {
+            boolean healthy = probe(node.dataSource);
+            if (healthy != node.healthy) {
+                log.warn("Replica {} is now {}", node.name, healthy ? "UP" : "DOWN");
+            }
+            node.healthy = healthy;
+        }
+    }
+
+    /**
+     * 启动定期健康检查
+     * @param interval 检查间隔
+     */
+    public synchronized void startHealthCheck(Duration interval) {
+        if (healthChecker != null || nodes.isEmpty()) {
+            return;
+        }
+        healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+            healthChecker = null;
+        }
+        for (ReplicaNode node : nodes) {
+            if (node.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close replica {}", node.name, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 健康副本数量
+     */
+    public int healthyCount() {
+        return (int) nodes.stream().filter(node -> node.healthy).count();
+    }
+
+    private boolean probe(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isValid(healthCheckTimeoutSeconds);
+        } catch (Exception e) {
+            log.debug("Replica health check failed", e);
+            return false;
+        }
+    }
+
+    private static final class ReplicaNode {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private ReplicaNode(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
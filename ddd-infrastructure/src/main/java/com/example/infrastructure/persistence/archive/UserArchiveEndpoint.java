@@ -0,0 +1,44 @@
+package com.example.infrastructure.persistence.archive;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 用户归档端点
+ * GET /actuator/userarchive 查看最近一次清理，POST 立即触发一次清理
+ */
+@Endpoint(id = "userarchive")
+public class UserArchiveEndpoint {
+
+    private final UserArchiver archiver;
+
+    public UserArchiveEndpoint(UserArchiver archiver) {
+        this.archiver = archiver;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("running", archiver.isRunning());
+        UserArchiver.RunReport report = archiver.getLastReport();
+        if (report != null) {
+            status.put("finishedAt", report.finishedAt());
+            status.put("purgedDeleted", report.purgedDeleted());
+            status.put("archivedCold", report.archivedCold());
+            status.put("durationMillis", report.durationMillis());
+        }
+        if (archiver.getLastError() != null) {
+            status.put("lastError", archiver.getLastError());
+        }
+        return status;
+    }
+
+    @WriteOperation
+    public Map<String, Object> trigger() {
+        return Map.of("started", archiver.trigger());
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.infrastructure.persistence.archive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 用户归档配置
+ */
+@Data
+@ConfigurationProperties(prefix = "app.user-archive")
+public class UserArchiveProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * 两次清理之间的间隔
+     */
+    private Duration interval = Duration.ofMinutes(5);
+
+    /**
+     * 每批处理的行数，每批一个短事务
+     */
+    private int batchSize = 500;
+
+    /**
+     * 批次之间的停顿，给在线流量让出锁和IO
+     */
+    private Duration batchPause = Duration.ofMillis(50);
+
+    /**
+     * 每次清理每个目标最多处理的批数，剩余的留到下次
+     */
+    private int maxBatchesPerRun = 200;
+
+    /**
+     * 已删除用户保留为墓碑的时长，期间其用户名和邮箱不可重新注册
+     */
+    private Duration tombstoneRetention = Duration.ofDays(1);
+
+    /**
+     * 清理墓碑时是否先写入users_archive，false时直接物理删除
+     */
+    private boolean archiveTombstones = true;
+
+    /**
+     * 停用状态且超过该时长未更新的用户移入users_archive，为空时不归档冷用户
+     */
+    private Duration coldInactiveAfter;
+}
@@ -0,0 +1,11 @@
+package com.example.infrastructure.persistence.archive;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 归档目标
+ * 未分片时为主数据源，分片时每个分片一个目标；每批在目标自己的事务中执行
+ */
+public record UserArchiveTarget(String name, JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+}
@@ -0,0 +1,302 @@
+package com.example.infrastructure.persistence.archive;
+
+import com.example.application.audit.AuditEntry;
+import com.example.application.dto.UserDTO;
+import com.example.application.event.UserChangeType;
+import com.example.application.event.UserChangedEvent;
+import com.example.application.mapper.UserMapper;
+import com.example.domain.model.user.User;
+import com.example.infrastructure.persistence.mapper.UserRowMapper;
+import com.example.infrastructure.persistence.shard.UserDirectory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 用户归档清理
+ * 定期把超过保留期的墓碑行和长期停用的冷用户从users表移出，使热表和索引保持精简。
+ * 按ID键集分页，每批在一个短事务中锁定、写入users_archive并删除，批次之间停顿；
+ * 一次清理每个目标最多处理固定批数，剩余的留到下次。
+ * 墓碑的deleted_at由数据库时钟写入，保留期的截止时间也取数据库时钟；冷用户按应用写入的updated_at判断，截止时间取应用时钟。
+ * 冷用户被删除时以system身份发布删除变更和审计记录，墓碑在删除时已经发布过。
+ */
+@Slf4j
+public class UserArchiver implements DisposableBean {
+
+    static final String ARCHIVE_DDL = """
+            CREATE TABLE IF NOT EXISTS users_archive (
+                id BIGINT PRIMARY KEY,
+                username VARCHAR(50) NOT NULL,
+                email VARCHAR(100) NOT NULL,
+                password VARCHAR(255) NOT NULL,
+                status VARCHAR(20) NOT NULL,
+                created_at TIMESTAMP,
+                updated_at TIMESTAMP,
+                created_by VARCHAR(255),
+                updated_by VARCHAR(255),
+                deleted_at TIMESTAMP,
+                archived_at TIMESTAMP NOT NULL,
+                reason VARCHAR(20) NOT NULL
+            )""";
+
+    private static final String TOMBSTONE_PREDICATE = "deleted = TRUE AND deleted_at < ?";
+
+    private static final String COLD_PREDICATE = "deleted = FALSE AND status = 'INACTIVE' AND updated_at < ?";
+
+    /**
+     * 移出users表的原因
+     */
+    public enum Reason {
+        DELETED,
+        COLD
+    }
+
+    private final UserArchiveProperties properties;
+    private final List<UserArchiveTarget> targets;
+    private final UserDirectory userDirectory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserMapper userMapper;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Map<Reason, Counter> archivedCounters = new EnumMap<>(Reason.class);
+    private final Counter deletedCounter;
+    private final Timer runTimer;
+
+    private volatile RunReport lastReport;
+    private volatile String lastError;
+
+    /**
+     * @param userDirectory 分片时的全局用户目录，行被移出后释放其用户名和邮箱；未分片时为null
+     */
+    public UserArchiver(
+            UserArchiveProperties properties,
+            List<UserArchiveTarget> targets,
+            UserDirectory userDirectory,
+            ApplicationEventPublisher eventPublisher,
+            UserMapper userMapper,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.targets = List.copyOf(targets);
+        this.userDirectory = userDirectory;
+        this.eventPublisher = eventPublisher;
+        this.userMapper = userMapper;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (meterRegistry != null) {
+            for (Reason reason : Reason.values()) {
+                archivedCounters.put(reason, Counter.builder("user.archive.rows")
+                        .tag("reason", reason.name().toLowerCase())
+                        .tag("action", "archived")
+                        .register(meterRegistry));
+            }
+            this.deletedCounter = Counter.builder("user.archive.rows")
+                    .tag("reason", Reason.DELETED.name().toLowerCase())
+                    .tag("action", "deleted")
+                    .description("未归档直接物理删除的墓碑行")
+                    .register(meterRegistry);
+            this.runTimer = Timer.builder("user.archive.run").register(meterRegistry);
+        } else {
+            this.deletedCounter = null;
+            this.runTimer = null;
+        }
+    }
+
+    /**
+     * 在所有目标上建归档表
+     */
+    public void initializeSchema() {
+        targets.forEach(target -> target.jdbcTemplate().execute(ARCHIVE_DDL));
+    }
+
+    /**
+     * 按间隔定期清理
+     */
+    public void start() {
+        long interval = properties.getInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(() -> {
+            if (running.compareAndSet(false, true)) {
+                runGuarded();
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 异步触发一次清理，已有清理在执行时返回false
+     */
+    public boolean trigger() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        scheduler.execute(this::runGuarded);
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public RunReport getLastReport() {
+        return lastReport;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private void runGuarded() {
+        try {
+            lastReport = run();
+            lastError = null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("User archive run failed", e);
+            lastError = e.getMessage();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 执行一次清理，在调度线程中调用
+     */
+    RunReport run() throws InterruptedException {
+        long startNanos = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        long purged = 0;
+        long cold = 0;
+        for (UserArchiveTarget target : targets) {
+            LocalDateTime databaseNow = target.jdbcTemplate()
+                    .queryForObject("SELECT CURRENT_TIMESTAMP", Timestamp.class).toLocalDateTime();
+            purged += sweep(target, Reason.DELETED, TOMBSTONE_PREDICATE,
+                    databaseNow.minus(properties.getTombstoneRetention()), properties.isArchiveTombstones(), now);
+            if (properties.getColdInactiveAfter() != null) {
+                cold += sweep(target, Reason.COLD, COLD_PREDICATE,
+                        now.minus(properties.getColdInactiveAfter()), true, now);
+            }
+        }
+        long elapsed = System.nanoTime() - startNanos;
+        if (runTimer != null) {
+            runTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        }
+        if (purged > 0 || cold > 0) {
+            log.info("User archive run: purged {} deleted users, archived {} cold users in {} ms",
+                    purged, cold, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+        return new RunReport(Instant.now(), purged, cold, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    private long sweep(
+            UserArchiveTarget target,
+            Reason reason,
+            String predicate,
+            LocalDateTime cutoff,
+            boolean archive,
+            LocalDateTime archivedAt) throws InterruptedException {
+        long total = 0;
+        long lastId = Long.MIN_VALUE;
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            long afterId = lastId;
+            List<User> victims = target.transactionTemplate().execute(status ->
+                    moveBatch(target, reason, predicate, cutoff, archive, archivedAt, afterId));
+            if (victims == null || victims.isEmpty()) {
+                break;
+            }
+            afterPurge(victims, reason, archive);
+            total += victims.size();
+            lastId = victims.get(victims.size() - 1).getId();
+            if (victims.size() < properties.getBatchSize()) {
+                break;
+            }
+            Thread.sleep(properties.getBatchPause().toMillis());
+        }
+        return total;
+    }
+
+    /**
+     * 锁定一批满足条件的行，按需写入归档表后删除
+     */
+    private List<User> moveBatch(
+            UserArchiveTarget target,
+            Reason reason,
+            String predicate,
+            LocalDateTime cutoff,
+            boolean archive,
+            LocalDateTime archivedAt,
+            long afterId) {
+        List<User> victims = target.jdbcTemplate().query(
+                "SELECT " + UserRowMapper.COLUMNS + " FROM users WHERE id > ? AND " + predicate
+                        + " ORDER BY id LIMIT ? FOR UPDATE",
+                UserRowMapper.INSTANCE,
+                afterId, Timestamp.valueOf(cutoff), properties.getBatchSize());
+        if (victims.isEmpty()) {
+            return victims;
+        }
+        String in = String.join(", ", Collections.nCopies(victims.size(), "?"));
+        List<Object> ids = new ArrayList<>(victims.size());
+        victims.forEach(victim -> ids.add(victim.getId()));
+        if (archive) {
+            List<Object> args = new ArrayList<>(ids.size() + 2);
+            args.add(Timestamp.valueOf(archivedAt));
+            args.add(reason.name());
+            args.addAll(ids);
+            target.jdbcTemplate().update("INSERT INTO users_archive (" + UserRowMapper.COLUMNS
+                    + ", deleted_at, archived_at, reason) SELECT " + UserRowMapper.COLUMNS
+                    + ", deleted_at, ?, ? FROM users WHERE id IN (" + in + ")", args.toArray());
+        }
+        target.jdbcTemplate().update("DELETE FROM users WHERE id IN (" + in + ")", ids.toArray());
+        return victims;
+    }
+
+    private void afterPurge(List<User> victims, Reason reason, boolean archive) {
+        if (userDirectory != null) {
+            victims.forEach(victim -> userDirectory.remove(victim.getId()));
+        }
+        eventPublisher.publishEvent(new UsersPurgedEvent(victims.stream().map(User::getUsername).toList()));
+        if (reason == Reason.COLD) {
+            // 调度线程没有绑定操作人，审计记录的操作人为system
+            for (User victim : victims) {
+                UserDTO snapshot = userMapper.toDTO(victim);
+                eventPublisher.publishEvent(UserChangedEvent.of(UserChangeType.DELETED, snapshot));
+                eventPublisher.publishEvent(AuditEntry.of(UserChangeType.DELETED, snapshot, null));
+            }
+        }
+        Counter counter = archive ? archivedCounters.get(reason) : deletedCounter;
+        if (counter != null) {
+            counter.increment(victims.size());
+        }
+    }
+
+    /**
+     * 一次清理的结果
+     * @param purgedDeleted 移出的墓碑行数
+     * @param archivedCold 归档的冷用户数
+     */
+    public record RunReport(Instant finishedAt, long purgedDeleted, long archivedCold, long durationMillis) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.infrastructure.persistence.archive;
+
+import java.util.List;
+
+/**
+ * 一批用户已从users表物理移除，其用户名和邮箱可重新注册
+ * @param usernames 被移除用户的用户名
+ */
+public record UsersPurgedEvent(List<String> usernames) {
+}
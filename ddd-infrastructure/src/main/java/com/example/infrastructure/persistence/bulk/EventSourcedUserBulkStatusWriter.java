@@ -0,0 +1,89 @@
+package com.example.infrastructure.persistence.bulk;
+
+import com.example.application.bulk.UserBulkStatusWriter;
+import com.example.application.bulk.UserCriteria;
+import com.example.application.bulk.UserStatusChange;
+import com.example.application.query.UserView;
+import com.example.domain.model.user.User;
+import com.example.domain.model.user.UserStatusTransition;
+import com.example.domain.repository.UserRepository;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 事件溯源存储下的用户状态批量写入
+ * 没有可集合更新的状态列，按全局目录和创建事件筛选区间内的用户，
+ * 再逐个重建聚合、执行转换并追加事件；版本冲突时重新加载后重试
+ */
+public class EventSourcedUserBulkStatusWriter implements UserBulkStatusWriter {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+
+    public EventSourcedUserBulkStatusWriter(JdbcTemplate jdbcTemplate, UserRepository userRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public long maxUserId() {
+        Long id = jdbcTemplate.queryForObject("SELECT MAX(id) FROM user_directory", Long.class);
+        return id != null ? id : 0;
+    }
+
+    @Override
+    public List<UserStatusChange> transition(
+            UserStatusTransition transition, UserCriteria criteria, long fromId, long toId, String actor) {
+        StringBuilder select = new StringBuilder("SELECT d.id FROM user_directory d "
+                + "JOIN user_events e ON e.user_id = d.id AND e.version = 1 WHERE d.id BETWEEN ? AND ?");
+        List<Object> args = new ArrayList<>(List.of(fromId, toId));
+        if (criteria.createdBefore() != null) {
+            select.append(" AND e.occurred_at < ?");
+            args.add(Timestamp.valueOf(criteria.createdBefore()));
+        }
+        if (criteria.createdAfter() != null) {
+            select.append(" AND e.occurred_at >= ?");
+            args.add(Timestamp.valueOf(criteria.createdAfter()));
+        }
+        if (criteria.usernamePattern() != null && !criteria.usernamePattern().isBlank()) {
+            select.append(" AND d.username LIKE ? ESCAPE '\\'");
+            args.add(JdbcUserBulkStatusWriter.toLikePattern(criteria.usernamePattern()));
+        }
+        select.append(" ORDER BY d.id");
+
+        List<UserStatusChange> changed = new ArrayList<>();
+        for (Long id : jdbcTemplate.queryForList(select.toString(), Long.class, args.toArray())) {
+            transitionOne(id, transition, actor).ifPresent(changed::add);
+        }
+        return changed;
+    }
+
+    private Optional<UserStatusChange> transitionOne(Long id, UserStatusTransition transition, String actor) {
+        for (int attempt = 1; ; attempt++) {
+            Optional<User> found = userRepository.findById(id);
+            if (found.isEmpty() || !transition.appliesTo(found.get().getStatus())) {
+                return Optional.empty();
+            }
+            User user = found.get();
+            String previousStatus = user.getStatus().name();
+            user.apply(transition);
+            user.setUpdatedBy(actor);
+            try {
+                User saved = userRepository.save(user);
+                return Optional.of(new UserStatusChange(previousStatus, new UserView(saved.getId(), saved.getUsername(),
+                        saved.getEmail(), saved.getStatus().name(), saved.getCreatedAt(), saved.getUpdatedAt())));
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.infrastructure.persistence.bulk;
+
+import com.example.application.bulk.UserBulkStatusWriter;
+import com.example.application.bulk.UserCriteria;
+import com.example.application.bulk.UserStatusChange;
+import com.example.application.query.UserView;
+import com.example.domain.model.user.UserStatus;
+import com.example.domain.model.user.UserStatusTransition;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 基于JDBC的用户状态批量写入
+ * 每个区间按源状态各一条UPDATE，谓词为ID区间、源状态和筛选条件；
+ * 本次更新统一写入同一个updated_at和提交任务的操作人，再按该时间戳读回被更新的用户。
+ * 未分片时只有主库一个目标并参与调用方事务，分片时依次在各分片执行。已删除的墓碑行不参与转换。
+ */
+public class JdbcUserBulkStatusWriter implements UserBulkStatusWriter {
+
+    private static final RowMapper<UserView> VIEW_MAPPER = (rs, rowNum) -> new UserView(
+            rs.getLong("id"),
+            rs.getString("username"),
+            rs.getString("email"),
+            rs.getString("status"),
+            toLocalDateTime(rs.getTimestamp("created_at")),
+            toLocalDateTime(rs.getTimestamp("updated_at")));
+
+    private final List<JdbcTemplate> targets;
+
+    public JdbcUserBulkStatusWriter(List<JdbcTemplate> targets) {
+        this.targets = List.copyOf(targets);
+    }
+
+    @Override
+    public long maxUserId() {
+        long max = 0;
+        for (JdbcTemplate target : targets) {
+            Long id = target.queryForObject("SELECT MAX(id) FROM users", Long.class);
+            if (id != null) {
+                max = Math.max(max, id);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * 每个源状态各执行一次UPDATE并立即读回，读回结果减去之前源状态已读回的用户即为本次转换的用户，
+     * 由此得到每个用户转换前的状态
+     */
+    @Override
+    public List<UserStatusChange> transition(
+            UserStatusTransition transition, UserCriteria criteria, long fromId, long toId, String actor) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        String target = transition.getTargetStatus().name();
+
+        StringBuilder update = new StringBuilder("UPDATE users SET status = ?, updated_at = ?, updated_by = ? "
+                + "WHERE id BETWEEN ? AND ? AND deleted = FALSE AND status = ?");
+        List<Object> criteriaArgs = new ArrayList<>();
+        appendCriteria(update, criteriaArgs, criteria);
+
+        String select = "SELECT id, username, email, status, created_at, updated_at FROM users "
+                + "WHERE id BETWEEN ? AND ? AND deleted = FALSE AND status = ? AND updated_at = ? ORDER BY id";
+
+        List<UserStatusChange> changed = new ArrayList<>();
+        for (JdbcTemplate jdbcTemplate : targets) {
+            Set<Long> seen = new HashSet<>();
+            for (UserStatus source : transition.getSourceStatuses()) {
+                List<Object> args = new ArrayList<>(List.of(target, now, actor, fromId, toId, source.name()));
+                args.addAll(criteriaArgs);
+                if (jdbcTemplate.update(update.toString(), args.toArray()) == 0) {
+                    continue;
+                }
+                for (UserView view : jdbcTemplate.query(select, VIEW_MAPPER, fromId, toId, target, now)) {
+                    if (seen.add(view.id())) {
+                        changed.add(new UserStatusChange(source.name(), view));
+                    }
+                }
+            }
+        }
+        changed.sort(Comparator.comparing(change -> change.user().id()));
+        return changed;
+    }
+
+    private static void appendCriteria(StringBuilder sql, List<Object> args, UserCriteria criteria) {
+        if (criteria.createdBefore() != null) {
+            sql.append(" AND created_at < ?");
+            args.add(Timestamp.valueOf(criteria.createdBefore()));
+        }
+        if (criteria.createdAfter() != null) {
+            sql.append(" AND created_at >= ?");
+            args.add(Timestamp.valueOf(criteria.createdAfter()));
+        }
+        if (criteria.usernamePattern() != null && !criteria.usernamePattern().isBlank()) {
+            sql.append(" AND username LIKE ? ESCAPE '\\'");
+            args.add(toLikePattern(criteria.usernamePattern()));
+        }
+    }
+
+    /**
+     * 通配符 * 和 ? 转换为LIKE模式，其余字符按字面匹配
+     */
+    static String toLikePattern(String glob) {
+        StringBuilder like = new StringBuilder(glob.length() + 4);
+        for (char c : glob.toCharArray()) {
+            switch (c) {
+                case '*' -> like.append('%');
+                case '?' -> like.append('_');
+                case '%', '_', '\\' -> like.append('\\').append(c);
+                default -> like.append(c);
+            }
+        }
+        return like.toString();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.infrastructure.persistence.bulk;
+
+import com.example.application.bulk.UserImportWriter;
+import com.example.domain.model.user.User;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 基于JDBC批处理的用户导入写入
+ * 每批一个事务、一次executeBatch，绕过JPA持久化上下文
+ */
+public class JdbcUserImportWriter implements UserImportWriter {
+
+    private static final String INSERT = "INSERT INTO users "
+            + "(username, email, password, status, created_at, updated_at, created_by, updated_by) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public JdbcUserImportWriter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * 包含墓碑行，已删除用户的用户名和邮箱在物理清理前仍占用唯一约束
+     */
+    @Override
+    public void forEachExisting(Consumer<String> usernames, Consumer<String> emails) {
+        jdbcTemplate.query("SELECT username, email FROM users", rs -> {
+            usernames.accept(rs.getString(1));
+            emails.accept(rs.getString(2));
+        });
+    }
+
+    @Override
+    public void insertBatch(List<User> users) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT, users, users.size(), (ps, user) -> {
+            ps.setString(1, user.getUsername());
+            ps.setString(2, user.getEmail());
+            ps.setString(3, user.getPassword());
+            ps.setString(4, user.getStatus().name());
+            ps.setTimestamp(5, user.getCreatedAt() != null ? Timestamp.valueOf(user.getCreatedAt()) : now);
+            ps.setTimestamp(6, now);
+            ps.setString(7, user.getCreatedBy());
+            ps.setString(8, user.getUpdatedBy());
+        }));
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.infrastructure.persistence.bulk;
+
+import com.example.application.bulk.UserImportWriter;
+import com.example.domain.model.user.User;
+import com.example.domain.repository.UserRepository;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 通过仓储逐个保存的用户导入写入
+ * 用于分片存储：ID分配和全局目录由分片仓储维护，批内失败时已保存的用户不回滚
+ */
+public class RepositoryUserImportWriter implements UserImportWriter {
+
+    private final UserRepository userRepository;
+
+    public RepositoryUserImportWriter(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public void forEachExisting(Consumer<String> usernames, Consumer<String> emails) {
+        for (User user : userRepository.findAll()) {
+            usernames.accept(user.getUsername());
+            emails.accept(user.getEmail());
+        }
+    }
+
+    @Override
+    public void insertBatch(List<User> users) {
+        users.forEach(userRepository::save);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.infrastructure.persistence.coalescing;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+
+/**
+ * 合并读取统计端点
+ * GET /actuator/coalescing 查看合并次数最多的键，DELETE 清空统计
+ */
+@Endpoint(id = "coalescing")
+public class CoalescingEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final CoalescingStats stats;
+
+    public CoalescingEndpoint(CoalescingStats stats) {
+        this.stats = stats;
+    }
+
+    @ReadOperation
+    public Map<String, Long> topKeys(@Nullable Integer limit) {
+        return stats.topCoalescedKeys(limit != null ? limit : DEFAULT_LIMIT);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        stats.reset();
+    }
+}
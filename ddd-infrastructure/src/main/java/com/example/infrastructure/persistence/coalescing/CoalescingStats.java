@@ -0,0 +1,86 @@
+package com.example.infrastructure.persistence.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 合并调用统计
+ * 按操作记录总量指标，并按键记录合并次数（键数量有上限，超出后只计入总量）
+ */
+public class CoalescingStats {
+
+    private final int maxTrackedKeys;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, LongAdder> coalescedByKey = new ConcurrentHashMap<>();
+    private final Map<String, Counter[]> countersByOperation = new ConcurrentHashMap<>();
+
+    public CoalescingStats(int maxTrackedKeys, MeterRegistry meterRegistry) {
+        this.maxTrackedKeys = maxTrackedKeys;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 记录一次调用
+     * @param operation 操作名，如findById
+     * @param key 调用键
+     * @param shared 是否为合并调用
+     */
+    public void record(String operation, Object key, boolean shared) {
+        if (meterRegistry != null) {
+            Counter[] counters = countersByOperation.computeIfAbsent(operation, this::registerCounters);
+            counters[shared ? 1 : 0].increment();
+        }
+        if (!shared) {
+            return;
+        }
+        String statKey = operation + ":" + key;
+        LongAdder counter = coalescedByKey.get(statKey);
+        if (counter == null) {
+            if (coalescedByKey.size() >= maxTrackedKeys) {
+                return;
+            }
+            counter = coalescedByKey.computeIfAbsent(statKey, k -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    /**
+     * 合并次数最多的键
+     */
+    public Map<String, Long> topCoalescedKeys(int limit) {
+        List<Map.Entry<String, LongAdder>> entries = coalescedByKey.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> e) -> e.getValue().sum()).reversed())
+                .limit(limit)
+                .toList();
+        Map<String, Long> top = new LinkedHashMap<>();
+        entries.forEach(entry -> top.put(entry.getKey(), entry.getValue().sum()));
+        return top;
+    }
+
+    /**
+     * 清空按键统计
+     */
+    public void reset() {
+        coalescedByKey.clear();
+    }
+
+    private Counter[] registerCounters(String operation) {
+        return new Counter[]{
+                Counter.builder("repository.user.coalescing.calls")
+                        .tag("operation", operation)
+                        .tag("result", "leader")
+                        .register(meterRegistry),
+                Counter.builder("repository.user.coalescing.calls")
+                        .tag("operation", operation)
+                        .tag("result", "coalesced")
+                        .register(meterRegistry)
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.infrastructure.persistence.coalescing;
+
+import com.example.application.query.UserQueryRepository;
+import com.example.application.query.UserView;
+import io.opentelemetry.api.trace.Span;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 合并读取的用户查询仓储装饰器
+ * 视图不可变，合并调用方直接共享同一结果
+ */
+public class CoalescingUserQueryRepository implements UserQueryRepository {
+
+    private final UserQueryRepository delegate;
+    private final CoalescingStats stats;
+    private final SingleFlight<Long, Optional<UserView>> byId = new SingleFlight<>();
+
+    public CoalescingUserQueryRepository(UserQueryRepository delegate, CoalescingStats stats) {
+        this.delegate = delegate;
+        this.stats = stats;
+    }
+
+    @Override
+    public Optional<UserView> findById(Long id) {
+        if (id == null || !CoalescingUserRepository.canCoalesce()) {
+            return delegate.findById(id);
+        }
+        SingleFlight.Result<Optional<UserView>> result = byId.execute(id, () -> delegate.findById(id));
+        stats.record("findViewById", id, result.shared());
+        Span.current().setAttribute("cache.hit", result.shared());
+        return result.value();
+    }
+
+    @Override
+    public List<UserView> findAllByIds(Collection<Long> ids) {
+        return delegate.findAllByIds(ids);
+    }
+
+    @Override
+    public List<UserView> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<UserView> findPage(Long afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.infrastructure.persistence.coalescing;
+
+import com.example.domain.model.user.User;
+import com.example.domain.repository.UserRepository;
+import io.opentelemetry.api.trace.Span;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * 合并读取的用户仓储装饰器
+ * 同一键的并发读取共享一次数据库加载；共享结果不会交给任何调用方，每个调用方拿到独立副本，避免修改相互可见
+ * 只在只读事务或无事务时合并；读写事务先读后写，共享其他事务开始更早的加载会基于旧数据保存，因此直接读取
+ */
+public class CoalescingUserRepository implements UserRepository {
+
+    private final UserRepository delegate;
+    private final CoalescingStats stats;
+    private final SingleFlight<Long, Optional<User>> byId = new SingleFlight<>();
+    private final SingleFlight<String, Optional<User>> byUsername = new SingleFlight<>();
+    private final SingleFlight<String, Optional<User>> byEmail = new SingleFlight<>();
+
+    public CoalescingUserRepository(UserRepository delegate, CoalescingStats stats) {
+        this.delegate = delegate;
+        this.stats = stats;
+    }
+
+    public UserRepository getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        return coalesce("findById", byId, id, () -> delegate.findById(id));
+    }
+
+    @Override
+    public List<User> findAllById(Collection<Long> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return coalesce("findByUsername", byUsername, username, () -> delegate.findByUsername(username));
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return coalesce("findByEmail", byEmail, email, () -> delegate.findByEmail(email));
+    }
+
+    @Override
+    public User save(User user) {
+        return delegate.save(user);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+    }
+
+    @Override
+    public boolean existsByUsername(String username) {
+        return delegate.existsByUsername(username);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return delegate.existsByEmail(email);
+    }
+
+    @Override
+    public List<User> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<User> findPage(Long afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+
+    private <K> Optional<User> coalesce(
+            String operation,
+            SingleFlight<K, Optional<User>> singleFlight,
+            K key,
+            Supplier<Optional<User>> loader) {
+        if (key == null || !canCoalesce()) {
+            return loader.get();
+        }
+        SingleFlight.Result<Optional<User>> result = singleFlight.execute(key, loader);
+        stats.record(operation, key, result.shared());
+        // 复用了其他调用方的加载时记在当前span上，未开启追踪时为空操作
+        Span.current().setAttribute("cache.hit", result.shared());
+        return result.value().map(CoalescingUserRepository::copyOf);
+    }
+
+    /**
+     * 当前是否可以合并读取：无事务，或当前事务只读
+     */
+    static boolean canCoalesce() {
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private static User copyOf(User source) {
+        User copy = User.reconstitute(source.getId(), source.getUsername(), source.getEmail(),
+                source.getPassword(), source.getStatus(), source.getVersion());
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setUpdatedAt(source.getUpdatedAt());
+        copy.setCreatedBy(source.getCreatedBy());
+        copy.setUpdatedBy(source.getUpdatedBy());
+        return copy;
+    }
+}
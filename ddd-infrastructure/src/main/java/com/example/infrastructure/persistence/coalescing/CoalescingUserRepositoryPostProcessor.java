@@ -0,0 +1,33 @@
+package com.example.infrastructure.persistence.coalescing;
+
+import com.example.application.query.UserQueryRepository;
+import com.example.domain.repository.UserRepository;
+import com.example.infrastructure.persistence.query.DomainUserQueryRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * 为当前生效的UserRepository和UserQueryRepository实现套上合并读取装饰器
+ */
+public class CoalescingUserRepositoryPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<CoalescingStats> stats;
+
+    public CoalescingUserRepositoryPostProcessor(ObjectProvider<CoalescingStats> stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof UserRepository repository && !(bean instanceof CoalescingUserRepository)) {
+            return new CoalescingUserRepository(repository, stats.getObject());
+        }
+        // DomainUserQueryRepository委托给已合并的UserRepository，无需再包装
+        if (bean instanceof UserQueryRepository repository
+                && !(bean instanceof CoalescingUserQueryRepository)
+                && !(bean instanceof DomainUserQueryRepository)) {
+            return new CoalescingUserQueryRepository(repository, stats.getObject());
+        }
+        return bean;
+    }
+}
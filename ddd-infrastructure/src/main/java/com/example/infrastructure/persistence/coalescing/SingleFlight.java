@@ -0,0 +1,71 @@
+package com.example.infrastructure.persistence.coalescing;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 单飞调用
+ * 同一个键的并发调用只执行一次加载，其余调用方等待并共享结果；加载完成后立即移除，不缓存任何结果
+ * @param <K> 键类型
+ * @param <V> 结果类型
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 执行或加入同键的在途调用
+     * @param key 键
+     * @param loader 加载函数
+     * @return 调用结果及是否为合并调用
+     */
+    public Result<V> execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return new Result<>(await(existing), true);
+        }
+        try {
+            V value = loader.get();
+            created.complete(value);
+            return new Result<>(value, false);
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    /**
+     * 当前在途调用数
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 调用结果
+     * @param value 结果
+     * @param shared 是否复用了其他调用方的加载
+     */
+    public record Result<V>(V value, boolean shared) {
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 批量操作持久化实体
+ */
+@Entity
+@Table(name = "bulk_operations", indexes = @Index(name = "idx_bulk_operations_status", columnList = "status"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOperationEntity {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, length = 20)
+    private String transition;
+    
+    @Column(nullable = false, length = 20)
+    private String status;
+    
+    @Column(name = "created_before")
+    private LocalDateTime createdBefore;
+    
+    @Column(name = "created_after")
+    private LocalDateTime createdAfter;
+    
+    @Column(name = "username_pattern", length = 50)
+    private String usernamePattern;
+    
+    @Column(name = "upper_bound_id", nullable = false)
+    private long upperBoundId;
+    
+    @Column(name = "cursor_id", nullable = false)
+    private long cursorId;
+    
+    @Column(name = "affected_count", nullable = false)
+    private long affectedCount;
+    
+    @Column(length = 500)
+    private String error;
+    
+    @Column(length = 255)
+    private String actor;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
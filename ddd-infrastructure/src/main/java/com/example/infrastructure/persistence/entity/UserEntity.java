@@ -1,19 +1,28 @@
 package com.example.infrastructure.persistence.entity;
 
+import com.example.application.service.UniqueConstraintMessages;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 
 /**
  * 用户持久化实体
- * JPA实体，映射到数据库表
+ * JPA实体，映射到数据库表；删除只打墓碑标记，所有实体查询过滤已删除行，由归档任务分批物理清理
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = UniqueConstraintMessages.USERNAME_CONSTRAINT, columnNames = "username"),
+        @UniqueConstraint(name = UniqueConstraintMessages.EMAIL_CONSTRAINT, columnNames = "email")
+})
+@SQLDelete(sql = "UPDATE users SET deleted = TRUE, deleted_at = CURRENT_TIMESTAMP WHERE id = ?")
+@SQLRestriction("deleted = FALSE")
 @Data
 @Builder
 @NoArgsConstructor
@@ -24,10 +33,10 @@ public class UserEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @Column(nullable = false, unique = true, length = 50)
+    @Column(nullable = false, length = 50)
     private String username;
     
-    @Column(nullable = false, unique = true, length = 100)
+    @Column(nullable = false, length = 100)
     private String email;
     
     @Column(nullable = false)
@@ -47,5 +56,12 @@ public class UserEntity {
     
     @Column(name = "updated_by")
     private String updatedBy;
+    
+    @ColumnDefault("FALSE")
+    @Column(nullable = false)
+    private boolean deleted;
+    
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
 }
 
@@ -0,0 +1,241 @@
+package com.example.infrastructure.persistence.eventstore;
+
+import com.example.application.audit.ActorContext;
+import com.example.domain.model.user.User;
+import com.example.domain.model.user.UserCreatedEvent;
+import com.example.domain.model.user.UserDeletedEvent;
+import com.example.domain.model.user.UserEmailChangedEvent;
+import com.example.domain.model.user.UserEvent;
+import com.example.domain.repository.UserRepository;
+import com.example.infrastructure.persistence.shard.UserDirectory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 事件溯源用户仓储实现
+ * 保存时把聚合的待提交事件追加到事件流，读取时从最新快照开始重放；
+ * 用户名和邮箱的唯一性及ID分配沿用全局用户目录
+ */
+public class EventSourcedUserRepository implements UserRepository {
+
+    private final JdbcUserEventStore eventStore;
+    private final UserDirectory userDirectory;
+    private final int snapshotInterval;
+    private final Counter conflicts;
+    private final DistributionSummary replayed;
+
+    public EventSourcedUserRepository(
+            JdbcUserEventStore eventStore,
+            UserDirectory userDirectory,
+            EventStoreProperties properties,
+            MeterRegistry meterRegistry) {
+        this.eventStore = eventStore;
+        this.userDirectory = userDirectory;
+        this.snapshotInterval = Math.max(1, properties.getSnapshotInterval());
+        if (meterRegistry != null) {
+            this.conflicts = Counter.builder("user.event_store.conflicts")
+                    .description("事件流版本冲突次数")
+                    .register(meterRegistry);
+            this.replayed = DistributionSummary.builder("user.event_store.replayed_events")
+                    .description("单次重建聚合重放的事件数")
+                    .register(meterRegistry);
+        } else {
+            this.conflicts = null;
+            this.replayed = null;
+        }
+    }
+
+    @Override
+    public User save(User user) {
+        List<UserEvent> events = user.getPendingEvents();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        boolean registered = false;
+        String previousEmail = null;
+        if (user.getId() == null) {
+            user.setId(userDirectory.register(user.getUsername(), user.getEmail()));
+            user.setCreatedAt(now);
+            registered = true;
+        } else if (events.stream().anyMatch(UserEmailChangedEvent.class::isInstance)) {
+            previousEmail = userDirectory.findEmailById(user.getId()).orElse(null);
+            userDirectory.updateEmail(user.getId(), user.getEmail());
+        }
+        if (events.isEmpty()) {
+            return user;
+        }
+        long expectedVersion = user.getVersion();
+        try {
+            append(user.getId(), expectedVersion, events, now, user.getUpdatedBy());
+        } catch (RuntimeException e) {
+            // 读写分离时目录绑定主库，不随事务回滚，追加失败时撤销目录变更
+            try {
+                if (registered) {
+                    userDirectory.remove(user.getId());
+                    user.setId(null);
+                } else if (previousEmail != null) {
+                    userDirectory.updateEmail(user.getId(), previousEmail);
+                }
+            } catch (RuntimeException undo) {
+                e.addSuppressed(undo);
+            }
+            throw e;
+        }
+        user.setUpdatedAt(now);
+        user.markEventsCommitted();
+        if (expectedVersion / snapshotInterval != user.getVersion() / snapshotInterval) {
+            eventStore.saveSnapshot(user.getId(), user.getVersion(), UserSnapshot.of(user), now);
+        }
+        return user;
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        User user = eventStore.loadSnapshot(id).orElse(null);
+        List<StoredUserEvent> events = eventStore.readStream(id, user != null ? user.getVersion() : 0);
+        if (replayed != null) {
+            replayed.record(events.size());
+        }
+        for (StoredUserEvent stored : events) {
+            if (stored.event() instanceof UserDeletedEvent) {
+                return Optional.empty();
+            }
+            user = replay(user, stored);
+        }
+        return Optional.ofNullable(user);
+    }
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return userDirectory.findIdByUsername(username).flatMap(this::findById);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return userDirectory.findIdByEmail(email).flatMap(this::findById);
+    }
+
+    /**
+     * 追加删除事件，事件流保留用于审计，用户名和邮箱从目录释放；删除人取当前操作人
+     */
+    @Override
+    public void deleteById(Long id) {
+        long version = eventStore.currentVersion(id);
+        if (version == 0) {
+            return;
+        }
+        append(id, version, List.of(new UserDeletedEvent()), LocalDateTime.now().truncatedTo(ChronoUnit.MICROS),
+                ActorContext.getActor());
+        userDirectory.remove(id);
+    }
+
+    @Override
+    public boolean existsByUsername(String username) {
+        return userDirectory.existsByUsername(username);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return userDirectory.existsByEmail(email);
+    }
+
+    /**
+     * 先批量还原最新快照，再按用户顺序重放快照之后的事件
+     */
+    @Override
+    public List<User> findAll() {
+        return rebuild(eventStore::forEachLatestSnapshot, eventStore::forEachEventAfterLatestSnapshot);
+    }
+
+    /**
+     * 与findAll相同的两次查询，只是限定在给定ID上
+     */
+    @Override
+    public List<User> findAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> distinct = new HashSet<>(ids);
+        return rebuild(
+                consumer -> eventStore.forEachLatestSnapshot(distinct, consumer),
+                consumer -> eventStore.forEachEventAfterLatestSnapshot(distinct, consumer));
+    }
+
+    private List<User> rebuild(Consumer<Consumer<User>> snapshots, Consumer<Consumer<StoredUserEvent>> events) {
+        Map<Long, User> users = new HashMap<>();
+        Set<Long> deleted = new HashSet<>();
+        snapshots.accept(user -> users.put(user.getId(), user));
+        events.accept(stored -> {
+            if (stored.event() instanceof UserDeletedEvent) {
+                deleted.add(stored.userId());
+            } else {
+                users.put(stored.userId(), replay(users.get(stored.userId()), stored));
+            }
+        });
+        List<User> result = new ArrayList<>(users.size());
+        users.forEach((id, user) -> {
+            if (!deleted.contains(id)) {
+                result.add(user);
+            }
+        });
+        result.sort(Comparator.comparing(User::getId));
+        return result;
+    }
+
+    /**
+     * 按流ID分页，已删除用户的流被跳过，不足一页时继续向后取
+     */
+    @Override
+    public List<User> findPage(Long afterId, int limit) {
+        List<User> page = new ArrayList<>(limit);
+        long cursor = afterId != null ? afterId : 0L;
+        while (page.size() < limit) {
+            List<Long> ids = eventStore.findStreamIdsAfter(cursor, limit - page.size());
+            if (ids.isEmpty()) {
+                break;
+            }
+            page.addAll(findAllById(ids));
+            cursor = ids.get(ids.size() - 1);
+        }
+        return page;
+    }
+
+    private void append(long userId, long expectedVersion, List<UserEvent> events, LocalDateTime now, String actor) {
+        try {
+            eventStore.append(userId, expectedVersion, events, now, actor);
+        } catch (OptimisticLockingFailureException e) {
+            if (conflicts != null) {
+                conflicts.increment();
+            }
+            throw e;
+        }
+    }
+
+    private static User replay(User user, StoredUserEvent stored) {
+        if (user == null) {
+            user = new User();
+            user.setId(stored.userId());
+        }
+        if (stored.event() instanceof UserCreatedEvent) {
+            user.setCreatedAt(stored.occurredAt());
+            user.setCreatedBy(stored.actor());
+        }
+        user.replay(stored.event());
+        user.setUpdatedAt(stored.occurredAt());
+        user.setUpdatedBy(stored.actor());
+        return user;
+    }
+}
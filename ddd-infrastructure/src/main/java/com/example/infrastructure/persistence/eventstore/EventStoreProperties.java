@@ -0,0 +1,17 @@
+package com.example.infrastructure.persistence.eventstore;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 用户事件存储配置
+ */
+@Data
+@ConfigurationProperties(prefix = "app.event-store")
+public class EventStoreProperties {
+
+    /**
+     * 每追加多少个事件写一次快照，重建时最多重放这么多事件
+     */
+    private int snapshotInterval = 20;
+}
@@ -0,0 +1,261 @@
+package com.example.infrastructure.persistence.eventstore;
+
+import com.example.domain.model.user.User;
+import com.example.domain.model.user.UserCreatedEvent;
+import com.example.domain.model.user.UserDeletedEvent;
+import com.example.domain.model.user.UserEmailChangedEvent;
+import com.example.domain.model.user.UserEvent;
+import com.example.domain.model.user.UserStatusChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 基于JDBC的用户事件存储
+ * 事件和快照都只追加不更新；(user_id, version)唯一约束即乐观并发检查，
+ * 同一版本被并发追加时后到者违反约束而失败，不需要锁住聚合行
+ */
+public class JdbcUserEventStore {
+
+    static final String EVENTS_DDL = """
+            CREATE TABLE IF NOT EXISTS user_events (
+                seq BIGINT AUTO_INCREMENT PRIMARY KEY,
+                user_id BIGINT NOT NULL,
+                version BIGINT NOT NULL,
+                event_type VARCHAR(40) NOT NULL,
+                payload VARCHAR(2000) NOT NULL,
+                occurred_at TIMESTAMP NOT NULL,
+                actor VARCHAR(255),
+                CONSTRAINT uk_user_events_stream UNIQUE (user_id, version)
+            )""";
+
+    static final String SNAPSHOTS_DDL = """
+            CREATE TABLE IF NOT EXISTS user_snapshots (
+                user_id BIGINT NOT NULL,
+                version BIGINT NOT NULL,
+                payload VARCHAR(2000) NOT NULL,
+                taken_at TIMESTAMP NOT NULL,
+                PRIMARY KEY (user_id, version)
+            )""";
+
+    private static final String LATEST_SNAPSHOT_VERSIONS =
+            "SELECT user_id, MAX(version) AS version FROM user_snapshots GROUP BY user_id";
+
+    /**
+     * 事件类型名独立于类名，重命名事件类不影响已存储的数据
+     */
+    private static final Map<String, Class<? extends UserEvent>> EVENT_TYPES = Map.of(
+            "UserCreated", UserCreatedEvent.class,
+            "UserStatusChanged", UserStatusChangedEvent.class,
+            "UserEmailChanged", UserEmailChangedEvent.class,
+            "UserDeleted", UserDeletedEvent.class);
+
+    private static final Map<Class<? extends UserEvent>, String> TYPE_NAMES = EVENT_TYPES.entrySet().stream()
+            .collect(Collectors.toMap(Map.Entry::getValue, Map.Entry::getKey));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final RowMapper<StoredUserEvent> eventMapper = this::mapEvent;
+
+    public JdbcUserEventStore(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public void initializeSchema() {
+        jdbcTemplate.execute(EVENTS_DDL);
+        jdbcTemplate.execute(SNAPSHOTS_DDL);
+    }
+
+    /**
+     * 在expectedVersion之后追加事件
+     * @param actor 产生这批事件的操作人，随每条事件存储
+     * @throws OptimisticLockingFailureException 事件流已被其他写入推进
+     */
+    public void append(long userId, long expectedVersion, List<UserEvent> events,
+                       LocalDateTime occurredAt, String actor) {
+        Timestamp timestamp = Timestamp.valueOf(occurredAt);
+        List<Object[]> rows = new ArrayList<>(events.size());
+        long version = expectedVersion;
+        for (UserEvent event : events) {
+            rows.add(new Object[]{userId, ++version, typeName(event), write(event), timestamp, actor});
+        }
+        try {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO user_events (user_id, version, event_type, payload, occurred_at, actor) "
+                            + "VALUES (?, ?, ?, ?, ?, ?)",
+                    rows);
+        } catch (DuplicateKeyException e) {
+            throw new OptimisticLockingFailureException(
+                    "用户" + userId + "已被并发修改，期望版本" + expectedVersion, e);
+        }
+    }
+
+    /**
+     * 事件流当前版本，流不存在时为0
+     */
+    public long currentVersion(long userId) {
+        Long version = jdbcTemplate.queryForObject(
+                "SELECT MAX(version) FROM user_events WHERE user_id = ?", Long.class, userId);
+        return version != null ? version : 0;
+    }
+
+    /**
+     * 读取version之后的事件，按版本升序
+     */
+    public List<StoredUserEvent> readStream(long userId, long afterVersion) {
+        return jdbcTemplate.query(
+                "SELECT user_id, version, event_type, payload, occurred_at, actor FROM user_events "
+                        + "WHERE user_id = ? AND version > ? ORDER BY version",
+                eventMapper, userId, afterVersion);
+    }
+
+    /**
+     * afterId之后的事件流ID，按ID升序，包含已删除用户的流
+     */
+    public List<Long> findStreamIdsAfter(long afterId, int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT user_id FROM user_events WHERE user_id > ? ORDER BY user_id LIMIT ?",
+                Long.class, afterId, limit);
+    }
+
+    public void saveSnapshot(long userId, long version, UserSnapshot snapshot, LocalDateTime takenAt) {
+        jdbcTemplate.update(
+                "INSERT INTO user_snapshots (user_id, version, payload, taken_at) VALUES (?, ?, ?, ?)",
+                userId, version, write(snapshot), Timestamp.valueOf(takenAt));
+    }
+
+    /**
+     * 最新快照还原出的用户，版本为快照版本
+     */
+    public Optional<User> loadSnapshot(long userId) {
+        List<User> users = jdbcTemplate.query(
+                "SELECT user_id, version, payload FROM user_snapshots WHERE user_id = ? ORDER BY version DESC LIMIT 1",
+                (rs, rowNum) -> mapSnapshot(rs), userId);
+        return users.stream().findFirst();
+    }
+
+    /**
+     * 逐个还原每个用户的最新快照
+     */
+    public void forEachLatestSnapshot(Consumer<User> consumer) {
+        jdbcTemplate.query(
+                "SELECT s.user_id, s.version, s.payload FROM user_snapshots s "
+                        + "JOIN (" + LATEST_SNAPSHOT_VERSIONS + ") m ON s.user_id = m.user_id AND s.version = m.version",
+                rs -> {
+                    consumer.accept(mapSnapshot(rs));
+                });
+    }
+
+    /**
+     * 逐个还原指定用户的最新快照，一次IN查询
+     */
+    public void forEachLatestSnapshot(Collection<Long> userIds, Consumer<User> consumer) {
+        String in = placeholders(userIds.size());
+        List<Object> args = new ArrayList<>(userIds);
+        args.addAll(userIds);
+        jdbcTemplate.query(
+                "SELECT s.user_id, s.version, s.payload FROM user_snapshots s "
+                        + "JOIN (SELECT user_id, MAX(version) AS version FROM user_snapshots WHERE user_id IN (" + in
+                        + ") GROUP BY user_id) m ON s.user_id = m.user_id AND s.version = m.version "
+                        + "WHERE s.user_id IN (" + in + ")",
+                rs -> {
+                    consumer.accept(mapSnapshot(rs));
+                },
+                args.toArray());
+    }
+
+    /**
+     * 按用户和版本顺序读取各用户最新快照之后的事件
+     */
+    public void forEachEventAfterLatestSnapshot(Consumer<StoredUserEvent> consumer) {
+        jdbcTemplate.query(
+                "SELECT e.user_id, e.version, e.event_type, e.payload, e.occurred_at, e.actor FROM user_events e "
+                        + "LEFT JOIN (" + LATEST_SNAPSHOT_VERSIONS + ") m ON e.user_id = m.user_id "
+                        + "WHERE e.version > COALESCE(m.version, 0) ORDER BY e.user_id, e.version",
+                rs -> {
+                    consumer.accept(mapEvent(rs, 0));
+                });
+    }
+
+    /**
+     * 按用户和版本顺序读取指定用户最新快照之后的事件，一次IN查询
+     */
+    public void forEachEventAfterLatestSnapshot(Collection<Long> userIds, Consumer<StoredUserEvent> consumer) {
+        String in = placeholders(userIds.size());
+        List<Object> args = new ArrayList<>(userIds);
+        args.addAll(userIds);
+        jdbcTemplate.query(
+                "SELECT e.user_id, e.version, e.event_type, e.payload, e.occurred_at, e.actor FROM user_events e "
+                        + "LEFT JOIN (SELECT user_id, MAX(version) AS version FROM user_snapshots WHERE user_id IN (" + in
+                        + ") GROUP BY user_id) m ON e.user_id = m.user_id "
+                        + "WHERE e.user_id IN (" + in + ") AND e.version > COALESCE(m.version, 0) "
+                        + "ORDER BY e.user_id, e.version",
+                rs -> {
+                    consumer.accept(mapEvent(rs, 0));
+                },
+                args.toArray());
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private StoredUserEvent mapEvent(ResultSet rs, int rowNum) throws SQLException {
+        Class<? extends UserEvent> type = EVENT_TYPES.get(rs.getString("event_type"));
+        if (type == null) {
+            throw new IllegalStateException("未知的用户事件类型: " + rs.getString("event_type"));
+        }
+        return new StoredUserEvent(
+                rs.getLong("user_id"),
+                rs.getLong("version"),
+                read(rs.getString("payload"), type),
+                rs.getTimestamp("occurred_at").toLocalDateTime(),
+                rs.getString("actor"));
+    }
+
+    private User mapSnapshot(ResultSet rs) throws SQLException {
+        UserSnapshot snapshot = read(rs.getString("payload"), UserSnapshot.class);
+        return snapshot.restore(rs.getLong("user_id"), rs.getLong("version"));
+    }
+
+    private static String typeName(UserEvent event) {
+        String name = TYPE_NAMES.get(event.getClass());
+        if (name == null) {
+            throw new IllegalArgumentException("未注册的用户事件类型: " + event.getClass().getName());
+        }
+        return name;
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("序列化失败: " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    private <T> T read(String payload, Class<T> type) {
+        try {
+            return objectMapper.readValue(payload, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("反序列化失败: " + type.getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.infrastructure.persistence.eventstore;
+
+import com.example.domain.model.user.UserEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * 事件流中的一条记录，actor为产生该事件的操作人
+ */
+public record StoredUserEvent(long userId, long version, UserEvent event, LocalDateTime occurredAt, String actor) {
+}
@@ -0,0 +1,35 @@
+package com.example.infrastructure.persistence.eventstore;
+
+import com.example.domain.model.user.User;
+import com.example.domain.model.user.UserStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 用户聚合快照，记录某个版本时的完整状态
+ */
+public record UserSnapshot(
+        String username,
+        String email,
+        String password,
+        UserStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        String createdBy,
+        String updatedBy) {
+
+    public static UserSnapshot of(User user) {
+        return new UserSnapshot(user.getUsername(), user.getEmail(), user.getPassword(),
+                user.getStatus(), user.getCreatedAt(), user.getUpdatedAt(),
+                user.getCreatedBy(), user.getUpdatedBy());
+    }
+
+    public User restore(Long id, long version) {
+        User user = User.reconstitute(id, username, email, password, status, version);
+        user.setCreatedAt(createdAt);
+        user.setUpdatedAt(updatedAt);
+        user.setCreatedBy(createdBy);
+        user.setUpdatedBy(updatedBy);
+        return user;
+    }
+}
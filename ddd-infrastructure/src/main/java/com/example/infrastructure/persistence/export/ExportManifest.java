@@ -0,0 +1,30 @@
+package com.example.infrastructure.persistence.export;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 快照清单，所有区间文件写完后最后生成
+ * 区间之间不是同一时间点的一致快照，每个区间文件由一条语句读出
+ */
+public record ExportManifest(
+        String snapshotId,
+        Instant startedAt,
+        Instant finishedAt,
+        String format,
+        List<String> columns,
+        long totalRows,
+        long totalBytes,
+        double rowsPerSecond,
+        List<FileEntry> files) {
+
+    public record FileEntry(
+            String file,
+            String source,
+            long fromId,
+            long toId,
+            long rows,
+            long bytes,
+            String sha256) {
+    }
+}
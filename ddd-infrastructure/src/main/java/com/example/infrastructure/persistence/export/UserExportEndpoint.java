@@ -0,0 +1,46 @@
+package com.example.infrastructure.persistence.export;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 用户快照导出端点
+ * GET /actuator/userexport 查看最近一次导出，POST 触发一次导出
+ */
+@Endpoint(id = "userexport")
+public class UserExportEndpoint {
+
+    private final UserSnapshotExporter exporter;
+
+    public UserExportEndpoint(UserSnapshotExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("running", exporter.isRunning());
+        ExportManifest manifest = exporter.getLastManifest();
+        if (manifest != null) {
+            status.put("snapshotId", manifest.snapshotId());
+            status.put("finishedAt", manifest.finishedAt());
+            status.put("files", manifest.files().size());
+            status.put("totalRows", manifest.totalRows());
+            status.put("totalBytes", manifest.totalBytes());
+            status.put("rowsPerSecond", Math.round(manifest.rowsPerSecond()));
+        }
+        if (exporter.getLastError() != null) {
+            status.put("lastError", exporter.getLastError());
+        }
+        return status;
+    }
+
+    @WriteOperation
+    public Map<String, Object> trigger() {
+        return Map.of("started", exporter.trigger());
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.infrastructure.persistence.export;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 用户快照导出配置
+ */
+@Data
+@ConfigurationProperties(prefix = "app.export")
+public class UserExportProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * 快照根目录，每次导出在其下创建一个子目录
+     */
+    private String directory = "./exports";
+
+    /**
+     * 并行读取的区间数，每个区间占用一个连接
+     */
+    private int parallelism = 4;
+
+    /**
+     * 每个区间覆盖的ID跨度
+     */
+    private long rangeSize = 500_000;
+
+    /**
+     * JDBC流式读取的fetch size
+     */
+    private int fetchSize = 5_000;
+
+    /**
+     * 全局读取速率上限（行/秒），0表示不限制
+     */
+    private long maxRowsPerSecond = 0;
+
+    /**
+     * 定时导出的cron表达式，为空时只能通过端点手动触发
+     */
+    private String cron;
+
+    /**
+     * 保留的快照个数，0表示全部保留
+     */
+    private int retainSnapshots = 7;
+}
@@ -0,0 +1,23 @@
+package com.example.infrastructure.persistence.export;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * 导出数据来源
+ * 未分片时为主数据源，在只读事务中读取以便路由到副本；分片时每个分片一个来源
+ */
+public record UserExportSource(String name, JdbcTemplate jdbcTemplate, TransactionTemplate readOnlyTransaction) {
+
+    /**
+     * 在来源上执行读取，有只读事务模板时包裹在事务中
+     */
+    public <T> T read(Supplier<T> action) {
+        if (readOnlyTransaction == null) {
+            return action.get();
+        }
+        return readOnlyTransaction.execute(status -> action.get());
+    }
+}
@@ -0,0 +1,399 @@
+package com.example.infrastructure.persistence.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.support.CronExpression;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 用户快照导出
+ * 把每个来源的ID空间切成固定跨度的区间，由固定大小的线程池并行读取，每个区间占用独立连接，
+ * 流式写入一个gzip压缩的CSV文件（FileChannel），全部完成后写入manifest.json。
+ * 文件先写为.part再原子改名，目录中出现manifest.json即表示快照完整。不导出密码列和已删除的墓碑行。
+ */
+@Slf4j
+public class UserSnapshotExporter implements DisposableBean {
+
+    static final List<String> COLUMNS = List.of(
+            "id", "username", "email", "status", "created_at", "updated_at", "created_by", "updated_by");
+
+    private static final String RANGE_QUERY = "SELECT " + String.join(", ", COLUMNS)
+            + " FROM users WHERE id BETWEEN ? AND ? AND deleted = FALSE ORDER BY id";
+
+    private static final String MANIFEST = "manifest.json";
+
+    private static final DateTimeFormatter SNAPSHOT_ID =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmssSSS'Z'").withZone(ZoneOffset.UTC);
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final int THROTTLE_BATCH = 1024;
+
+    private final UserExportProperties properties;
+    private final List<UserExportSource> sources;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService coordinator;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Counter rowsCounter;
+    private final Counter bytesCounter;
+    private final Timer durationTimer;
+
+    private volatile ExportManifest lastManifest;
+    private volatile String lastError;
+
+    public UserSnapshotExporter(
+            UserExportProperties properties,
+            List<UserExportSource> sources,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.sources = List.copyOf(sources);
+        this.objectMapper = objectMapper;
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, properties.getParallelism()), runnable -> {
+            Thread thread = new Thread(runnable, "user-export-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.coordinator = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-export-coordinator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (meterRegistry != null) {
+            this.rowsCounter = Counter.builder("user.export.rows").register(meterRegistry);
+            this.bytesCounter = Counter.builder("user.export.bytes").baseUnit("bytes").register(meterRegistry);
+            this.durationTimer = Timer.builder("user.export.duration").register(meterRegistry);
+            Gauge.builder("user.export.running", running, flag -> flag.get() ? 1 : 0)
+                    .register(meterRegistry);
+            Gauge.builder("user.export.last.rows_per_second", this,
+                            exporter -> exporter.lastManifest != null ? exporter.lastManifest.rowsPerSecond() : 0)
+                    .register(meterRegistry);
+        } else {
+            this.rowsCounter = null;
+            this.bytesCounter = null;
+            this.durationTimer = null;
+        }
+    }
+
+    /**
+     * 按cron表达式安排定时导出
+     */
+    public void scheduleCron(String cron) {
+        CronExpression expression = CronExpression.parse(cron);
+        ZonedDateTime next = expression.next(ZonedDateTime.now());
+        if (next == null) {
+            return;
+        }
+        long delay = Duration.between(ZonedDateTime.now(), next).toMillis();
+        coordinator.schedule(() -> {
+            if (running.compareAndSet(false, true)) {
+                runGuarded();
+            }
+            scheduleCron(cron);
+        }, Math.max(0, delay), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 异步触发一次导出，已有导出在执行时返回false
+     */
+    public boolean trigger() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        coordinator.execute(this::runGuarded);
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public ExportManifest getLastManifest() {
+        return lastManifest;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    @Override
+    public void destroy() {
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private void runGuarded() {
+        try {
+            lastManifest = export();
+            lastError = null;
+        } catch (Exception e) {
+            log.error("User snapshot export failed", e);
+            lastError = e.getMessage();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 执行一次完整导出，在协调线程中调用
+     */
+    ExportManifest export() throws IOException, InterruptedException {
+        Instant startedAt = Instant.now();
+        long startNanos = System.nanoTime();
+        // 时间前缀保证按名称排序即按时间排序，随机后缀避免多个实例共用目录时同一毫秒启动的导出互相覆盖
+        String snapshotId = SNAPSHOT_ID.format(startedAt) + "-"
+                + HexFormat.of().toHexDigits((short) ThreadLocalRandom.current().nextInt());
+        Path root = Paths.get(properties.getDirectory());
+        Path directory = root.resolve(snapshotId);
+        Files.createDirectories(root);
+        Files.createDirectory(directory);
+
+        RowThrottle throttle = new RowThrottle(properties.getMaxRowsPerSecond());
+        List<Future<ExportManifest.FileEntry>> futures = new ArrayList<>();
+        int index = 0;
+        for (UserExportSource source : sources) {
+            Map<String, Object> bounds = source.read(() -> source.jdbcTemplate()
+                    .queryForMap("SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM users"));
+            if (bounds.get("min_id") == null) {
+                continue;
+            }
+            long minId = ((Number) bounds.get("min_id")).longValue();
+            long maxId = ((Number) bounds.get("max_id")).longValue();
+            for (long fromId = minId; fromId <= maxId; fromId += properties.getRangeSize()) {
+                long toId = Math.min(maxId, fromId + properties.getRangeSize() - 1);
+                String file = String.format("users-%s-%05d.csv.gz", source.name(), index++);
+                long from = fromId;
+                futures.add(workers.submit(() -> exportRange(source, directory.resolve(file), from, toId, throttle)));
+            }
+        }
+
+        List<ExportManifest.FileEntry> files = new ArrayList<>(futures.size());
+        try {
+            for (Future<ExportManifest.FileEntry> future : futures) {
+                files.add(future.get());
+            }
+        } catch (ExecutionException | InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            deleteRecursively(directory);
+            if (e instanceof InterruptedException) {
+                throw (InterruptedException) e;
+            }
+            throw new IOException("导出区间失败: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        long totalRows = files.stream().mapToLong(ExportManifest.FileEntry::rows).sum();
+        long totalBytes = files.stream().mapToLong(ExportManifest.FileEntry::bytes).sum();
+        long elapsedNanos = System.nanoTime() - startNanos;
+        double rowsPerSecond = elapsedNanos > 0 ? totalRows * 1e9 / elapsedNanos : 0;
+        ExportManifest manifest = new ExportManifest(snapshotId, startedAt, Instant.now(), "csv+gzip",
+                COLUMNS, totalRows, totalBytes, rowsPerSecond, files);
+        writeManifest(directory, manifest);
+
+        if (durationTimer != null) {
+            durationTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+        log.info("Exported {} users into {} files ({} bytes) at {} rows/s to {}",
+                totalRows, files.size(), totalBytes, Math.round(rowsPerSecond), directory);
+        pruneSnapshots(root);
+        return manifest;
+    }
+
+    private ExportManifest.FileEntry exportRange(
+            UserExportSource source, Path target, long fromId, long toId, RowThrottle throttle) throws IOException {
+        Path part = target.resolveSibling(target.getFileName() + ".part");
+        MessageDigest digest = sha256();
+        AtomicLong rows = new AtomicLong();
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+             Writer writer = new BufferedWriter(new OutputStreamWriter(
+                     new GZIPOutputStream(new DigestOutputStream(Channels.newOutputStream(channel), digest), BUFFER_SIZE),
+                     StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            writer.write(String.join(",", COLUMNS));
+            writer.write('\n');
+            source.read(() -> {
+                source.jdbcTemplate().query(RANGE_QUERY, (PreparedStatement ps) -> {
+                    ps.setLong(1, fromId);
+                    ps.setLong(2, toId);
+                }, (ResultSet rs) -> {
+                    writeRow(writer, rs);
+                    if (rows.incrementAndGet() % THROTTLE_BATCH == 0) {
+                        throttle.acquire(THROTTLE_BATCH);
+                    }
+                });
+                return null;
+            });
+        } catch (UncheckedIOException e) {
+            Files.deleteIfExists(part);
+            throw e.getCause();
+        } catch (RuntimeException | IOException e) {
+            Files.deleteIfExists(part);
+            throw e;
+        }
+        long bytes = Files.size(part);
+        Files.move(part, target, StandardCopyOption.ATOMIC_MOVE);
+        if (rowsCounter != null) {
+            rowsCounter.increment(rows.get());
+            bytesCounter.increment(bytes);
+        }
+        return new ExportManifest.FileEntry(target.getFileName().toString(), source.name(),
+                fromId, toId, rows.get(), bytes, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    private static void writeRow(Writer writer, ResultSet rs) throws SQLException {
+        try {
+            writer.write(Long.toString(rs.getLong(1)));
+            for (int column = 2; column <= COLUMNS.size(); column++) {
+                writer.write(',');
+                Object value = rs.getObject(column);
+                if (value instanceof Timestamp timestamp) {
+                    writer.write(timestamp.toLocalDateTime().toString());
+                } else if (value != null) {
+                    writeCsvField(writer, value.toString());
+                }
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private void writeManifest(Path directory, ExportManifest manifest) throws IOException {
+        Path part = directory.resolve(MANIFEST + ".part");
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(Channels.newOutputStream(channel), manifest);
+        }
+        Files.move(part, directory.resolve(MANIFEST), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 只保留最近的完整快照
+     */
+    private void pruneSnapshots(Path root) throws IOException {
+        if (properties.getRetainSnapshots() <= 0) {
+            return;
+        }
+        List<Path> snapshots;
+        try (Stream<Path> children = Files.list(root)) {
+            snapshots = children
+                    .filter(path -> Files.isRegularFile(path.resolve(MANIFEST)))
+                    .sorted(Comparator.comparing(Path::getFileName).reversed())
+                    .toList();
+        }
+        for (Path snapshot : snapshots.subList(Math.min(properties.getRetainSnapshots(), snapshots.size()), snapshots.size())) {
+            deleteRecursively(snapshot);
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 所有区间共享的读取速率限制
+     */
+    private static final class RowThrottle {
+
+        private final long maxRowsPerSecond;
+        private final long startNanos = System.nanoTime();
+        private final AtomicLong rows = new AtomicLong();
+
+        private RowThrottle(long maxRowsPerSecond) {
+            this.maxRowsPerSecond = maxRowsPerSecond;
+        }
+
+        void acquire(long count) {
+            if (maxRowsPerSecond <= 0) {
+                return;
+            }
+            long expectedNanos = rows.addAndGet(count) * 1_000_000_000L / maxRowsPerSecond;
+            long aheadNanos = expectedNanos - (System.nanoTime() - startNanos);
+            if (aheadNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(aheadNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("导出已中断", e);
+                }
+            }
+        }
+    }
+}
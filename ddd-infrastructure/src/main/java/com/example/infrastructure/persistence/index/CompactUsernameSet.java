@@ -0,0 +1,125 @@
+package com.example.infrastructure.persistence.index;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 紧凑的只读有序用户名集合
+ * 所有用户名按UTF-8字节序拼接到一个byte[]中，offsets记录每个用户名的起止位置；
+ * 每个用户名只占字节本身加4字节偏移，没有对象头和指针开销，查询为二分查找
+ */
+final class CompactUsernameSet {
+
+    static final CompactUsernameSet EMPTY = new CompactUsernameSet(new byte[0], new int[] {0});
+
+    private final byte[] data;
+
+    /**
+     * 长度为size + 1，第i个用户名为data[offsets[i], offsets[i + 1])
+     */
+    private final int[] offsets;
+
+    private CompactUsernameSet(byte[] data, int[] offsets) {
+        this.data = data;
+        this.offsets = offsets;
+    }
+
+    /**
+     * 由任意顺序、可能重复的用户名构建
+     */
+    static CompactUsernameSet of(Collection<String> usernames) {
+        byte[][] encoded = new byte[usernames.size()][];
+        int count = 0;
+        for (String username : usernames) {
+            encoded[count++] = encode(username);
+        }
+        Arrays.sort(encoded, Arrays::compareUnsigned);
+
+        int total = 0;
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || !Arrays.equals(encoded[i], encoded[i - 1])) {
+                total += encoded[i].length;
+                distinct++;
+            }
+        }
+        byte[] data = new byte[total];
+        int[] offsets = new int[distinct + 1];
+        int position = 0;
+        int index = 0;
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && Arrays.equals(encoded[i], encoded[i - 1])) {
+                continue;
+            }
+            System.arraycopy(encoded[i], 0, data, position, encoded[i].length);
+            offsets[index++] = position;
+            position += encoded[i].length;
+        }
+        offsets[distinct] = position;
+        return new CompactUsernameSet(data, offsets);
+    }
+
+    static byte[] encode(String username) {
+        return username.getBytes(StandardCharsets.UTF_8);
+    }
+
+    int size() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * 近似占用的堆内存字节数
+     */
+    long memoryBytes() {
+        return (long) data.length + (long) offsets.length * Integer.BYTES;
+    }
+
+    boolean contains(byte[] key) {
+        int index = lowerBound(key);
+        return index < size() && compareAt(index, key) == 0;
+    }
+
+    /**
+     * 按字节序返回以prefix开头的最多limit个用户名
+     */
+    List<String> findByPrefix(byte[] prefix, int limit) {
+        List<String> result = new ArrayList<>(Math.min(limit, 16));
+        for (int i = lowerBound(prefix); i < size() && result.size() < limit; i++) {
+            if (!startsWith(i, prefix)) {
+                break;
+            }
+            result.add(new String(data, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.UTF_8));
+        }
+        return result;
+    }
+
+    /**
+     * 第一个不小于key的位置
+     */
+    private int lowerBound(byte[] key) {
+        int low = 0;
+        int high = size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareAt(mid, key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int compareAt(int index, byte[] key) {
+        return Arrays.compareUnsigned(data, offsets[index], offsets[index + 1], key, 0, key.length);
+    }
+
+    private boolean startsWith(int index, byte[] prefix) {
+        int length = offsets[index + 1] - offsets[index];
+        return length >= prefix.length
+                && Arrays.equals(data, offsets[index], offsets[index] + prefix.length, prefix, 0, prefix.length);
+    }
+}
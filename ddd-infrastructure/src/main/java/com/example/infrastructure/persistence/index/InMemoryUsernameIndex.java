@@ -0,0 +1,268 @@
+package com.example.infrastructure.persistence.index;
+
+import com.example.application.event.UserChangedEvent;
+import com.example.application.event.UserChangeType;
+import com.example.domain.service.UsernameIndex;
+import com.example.infrastructure.persistence.archive.UsersPurgedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 内存用户名索引
+ * 启动时异步全量加载为紧凑有序数组，之后由用户变更事件维护增量集合，
+ * 定期或增量过大时在后台重建；重建期间的变更记入日志并在切换后重放。
+ * 存储保留墓碑时，删除用户不释放用户名，直到归档任务物理移除该行
+ */
+@Slf4j
+public class InMemoryUsernameIndex implements UsernameIndex, DisposableBean {
+
+    private static final Comparator<String> UTF8_ORDER =
+            (a, b) -> Arrays.compareUnsigned(CompactUsernameSet.encode(a), CompactUsernameSet.encode(b));
+
+    private final UsernameLoader loader;
+    private final UsernameIndexProperties properties;
+    private final boolean releaseOnDelete;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final Object lock = new Object();
+    private final Timer rebuildTimer;
+
+    /**
+     * 加载完成前为null
+     */
+    private volatile Snapshot snapshot;
+
+    /**
+     * 重建期间的变更日志，非重建期间为null；由lock保护
+     */
+    private List<Change> journal;
+
+    /**
+     * @param releaseOnDelete 删除用户时立即释放用户名；存储保留墓碑时为false，由清理事件释放
+     */
+    public InMemoryUsernameIndex(
+            UsernameLoader loader,
+            UsernameIndexProperties properties,
+            boolean releaseOnDelete,
+            MeterRegistry meterRegistry) {
+        this.loader = loader;
+        this.properties = properties;
+        this.releaseOnDelete = releaseOnDelete;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "username-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (meterRegistry != null) {
+            Gauge.builder("user.username_index.size", this, index -> index.size())
+                    .description("内存用户名索引中的用户名数")
+                    .register(meterRegistry);
+            Gauge.builder("user.username_index.delta", this, index -> index.deltaSize())
+                    .description("尚未合并进紧凑数组的增量变更数")
+                    .register(meterRegistry);
+            Gauge.builder("user.username_index.memory", this, index -> index.memoryBytes())
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+            this.rebuildTimer = Timer.builder("user.username_index.rebuild").register(meterRegistry);
+        } else {
+            this.rebuildTimer = null;
+        }
+    }
+
+    /**
+     * 立即开始首次加载并按间隔定期重建
+     */
+    public void start() {
+        long interval = properties.getRebuildInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::rebuild, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    @Override
+    public boolean contains(String username) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            throw new IllegalStateException("用户名索引尚未就绪");
+        }
+        if (current.added.contains(username)) {
+            return true;
+        }
+        return !current.removed.contains(username) && current.base.contains(CompactUsernameSet.encode(username));
+    }
+
+    @Override
+    public List<String> findByPrefix(String prefix, int limit) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            throw new IllegalStateException("用户名索引尚未就绪");
+        }
+        // 被删除的用户名会占用名额，多取一些再过滤
+        List<String> fromBase = current.base.findByPrefix(
+                CompactUsernameSet.encode(prefix), limit + current.removed.size());
+        List<String> merged = new ArrayList<>(fromBase.size() + limit);
+        for (String username : fromBase) {
+            if (!current.removed.contains(username)) {
+                merged.add(username);
+            }
+        }
+        for (String username : current.added.tailSet(prefix)) {
+            if (!username.startsWith(prefix)) {
+                break;
+            }
+            merged.add(username);
+        }
+        return merged.stream()
+                .distinct()
+                .sorted(UTF8_ORDER)
+                .limit(limit)
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.user() == null || event.user().getUsername() == null) {
+            return;
+        }
+        if (event.type() == UserChangeType.CREATED) {
+            apply(new Change(event.user().getUsername(), true));
+        } else if (event.type() == UserChangeType.DELETED && releaseOnDelete) {
+            apply(new Change(event.user().getUsername(), false));
+        }
+    }
+
+    @EventListener
+    public void onUsersPurged(UsersPurgedEvent event) {
+        event.usernames().forEach(username -> apply(new Change(username, false)));
+    }
+
+    /**
+     * 从数据库全量重建紧凑数组，已有重建在进行时直接返回
+     */
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            synchronized (lock) {
+                journal = new ArrayList<>();
+            }
+            long start = System.nanoTime();
+            List<String> usernames = new ArrayList<>();
+            loader.load(usernames::add);
+            CompactUsernameSet base = CompactUsernameSet.of(usernames);
+            usernames = null;
+            synchronized (lock) {
+                Snapshot next = new Snapshot(base);
+                for (Change change : journal) {
+                    next.apply(change);
+                }
+                journal = null;
+                snapshot = next;
+            }
+            long elapsed = System.nanoTime() - start;
+            if (rebuildTimer != null) {
+                rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            }
+            log.info("Username index rebuilt: {} usernames, {} KiB in {} ms",
+                    base.size(), base.memoryBytes() / 1024, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                journal = null;
+            }
+            log.warn("Username index rebuild failed, keeping previous state (ready={})", isReady(), e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    public int size() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.base.size() + current.added.size() - current.removed.size();
+    }
+
+    public int deltaSize() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.added.size() + current.removed.size();
+    }
+
+    public long memoryBytes() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.base.memoryBytes();
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private void apply(Change change) {
+        boolean overflow = false;
+        synchronized (lock) {
+            if (journal != null) {
+                journal.add(change);
+            }
+            Snapshot current = snapshot;
+            if (current != null) {
+                current.apply(change);
+                overflow = current.added.size() + current.removed.size() > properties.getMaxDelta();
+            }
+        }
+        if (overflow && !rebuilding.get()) {
+            scheduler.execute(this::rebuild);
+        }
+    }
+
+    private record Change(String username, boolean present) {
+    }
+
+    /**
+     * 紧凑数组加增量；数组不可变，增量集合只在lock内修改
+     */
+    private static final class Snapshot {
+
+        private final CompactUsernameSet base;
+        private final NavigableSet<String> added = new ConcurrentSkipListSet<>();
+        private final Set<String> removed = ConcurrentHashMap.newKeySet();
+
+        private Snapshot(CompactUsernameSet base) {
+            this.base = base;
+        }
+
+        private void apply(Change change) {
+            boolean inBase = base.contains(CompactUsernameSet.encode(change.username()));
+            if (change.present()) {
+                removed.remove(change.username());
+                if (!inBase) {
+                    added.add(change.username());
+                }
+            } else {
+                added.remove(change.username());
+                if (inBase) {
+                    removed.add(change.username());
+                }
+            }
+        }
+    }
+}
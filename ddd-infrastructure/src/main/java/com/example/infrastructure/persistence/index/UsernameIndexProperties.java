@@ -0,0 +1,31 @@
+package com.example.infrastructure.persistence.index;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 内存用户名索引配置
+ */
+@Data
+@ConfigurationProperties(prefix = "app.username-index")
+public class UsernameIndexProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * 定期从数据库全量重建的间隔，用于吸收未发布事件的写入（如批量导入）
+     */
+    private Duration rebuildInterval = Duration.ofMinutes(10);
+
+    /**
+     * 增量集合超过该大小时提前触发重建
+     */
+    private int maxDelta = 50_000;
+
+    /**
+     * 全量加载时的JDBC fetch size
+     */
+    private int fetchSize = 10_000;
+}
@@ -0,0 +1,12 @@
+package com.example.infrastructure.persistence.index;
+
+import java.util.function.Consumer;
+
+/**
+ * 全量读取数据库中的用户名
+ */
+@FunctionalInterface
+public interface UsernameLoader {
+
+    void load(Consumer<String> sink);
+}
@@ -0,0 +1,58 @@
+package com.example.infrastructure.persistence.mapper;
+
+import com.example.application.bulk.BulkOperation;
+import com.example.application.bulk.BulkOperationStatus;
+import com.example.application.bulk.UserCriteria;
+import com.example.domain.model.user.UserStatusTransition;
+import com.example.infrastructure.persistence.entity.BulkOperationEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * 批量操作实体映射器
+ */
+@Component
+public class BulkOperationEntityMapper {
+    
+    public BulkOperationEntity toEntity(BulkOperation operation) {
+        if (operation == null) {
+            return null;
+        }
+        
+        UserCriteria criteria = operation.getCriteria();
+        return BulkOperationEntity.builder()
+                .id(operation.getId())
+                .transition(operation.getTransition().name())
+                .status(operation.getStatus().name())
+                .createdBefore(criteria != null ? criteria.createdBefore() : null)
+                .createdAfter(criteria != null ? criteria.createdAfter() : null)
+                .usernamePattern(criteria != null ? criteria.usernamePattern() : null)
+                .upperBoundId(operation.getUpperBoundId())
+                .cursorId(operation.getCursorId())
+                .affectedCount(operation.getAffectedCount())
+                .error(operation.getError())
+                .actor(operation.getActor())
+                .createdAt(operation.getCreatedAt())
+                .updatedAt(operation.getUpdatedAt())
+                .build();
+    }
+    
+    public BulkOperation toDomain(BulkOperationEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        
+        return BulkOperation.builder()
+                .id(entity.getId())
+                .transition(UserStatusTransition.valueOf(entity.getTransition()))
+                .status(BulkOperationStatus.valueOf(entity.getStatus()))
+                .criteria(new UserCriteria(entity.getCreatedBefore(), entity.getCreatedAfter(), entity.getUsernamePattern()))
+                .upperBoundId(entity.getUpperBoundId())
+                .cursorId(entity.getCursorId())
+                .affectedCount(entity.getAffectedCount())
+                .error(entity.getError())
+                .actor(entity.getActor())
+                .createdAt(entity.getCreatedAt())
+                .updatedAt(entity.getUpdatedAt())
+                .build();
+    }
+}
@@ -35,12 +35,13 @@ public class UserEntityMapper {
             return null;
         }
         
-        User user = new User();
-        user.setId(entity.getId());
-        user.setUsername(entity.getUsername());
-        user.setEmail(entity.getEmail());
-        user.setPassword(entity.getPassword());
-        user.setStatus(UserStatus.valueOf(entity.getStatus()));
+        User user = User.reconstitute(
+                entity.getId(),
+                entity.getUsername(),
+                entity.getEmail(),
+                entity.getPassword(),
+                UserStatus.valueOf(entity.getStatus()),
+                0);
         user.setCreatedAt(entity.getCreatedAt());
         user.setUpdatedAt(entity.getUpdatedAt());
         user.setCreatedBy(entity.getCreatedBy());
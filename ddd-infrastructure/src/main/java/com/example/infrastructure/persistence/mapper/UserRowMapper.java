@@ -0,0 +1,42 @@
+package com.example.infrastructure.persistence.mapper;
+
+import com.example.domain.model.user.User;
+import com.example.domain.model.user.UserStatus;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * 用户行映射器
+ * 将users表的JDBC结果行转换为领域实体
+ */
+public class UserRowMapper implements RowMapper<User> {
+
+    public static final String COLUMNS =
+            "id, username, email, password, status, created_at, updated_at, created_by, updated_by";
+
+    public static final UserRowMapper INSTANCE = new UserRowMapper();
+
+    @Override
+    public User mapRow(ResultSet rs, int rowNum) throws SQLException {
+        User user = User.reconstitute(
+                rs.getLong("id"),
+                rs.getString("username"),
+                rs.getString("email"),
+                rs.getString("password"),
+                UserStatus.valueOf(rs.getString("status")),
+                0);
+        user.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+        user.setUpdatedAt(toLocalDateTime(rs.getTimestamp("updated_at")));
+        user.setCreatedBy(rs.getString("created_by"));
+        user.setUpdatedBy(rs.getString("updated_by"));
+        return user;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
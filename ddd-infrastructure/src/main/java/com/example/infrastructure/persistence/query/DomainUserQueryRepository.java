@@ -0,0 +1,73 @@
+package com.example.infrastructure.persistence.query;
+
+import com.example.application.query.UserQueryRepository;
+import com.example.application.query.UserView;
+import com.example.domain.model.user.User;
+import com.example.domain.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * 基于领域仓储的用户查询实现
+ * 用于没有专门投影查询的仓储实现（如分片），读取聚合后转换为视图
+ */
+public class DomainUserQueryRepository implements UserQueryRepository {
+
+    private static final int MAX_IN_LIST = 1000;
+
+    private final UserRepository userRepository;
+
+    public DomainUserQueryRepository(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public Optional<UserView> findById(Long id) {
+        return userRepository.findById(id).map(DomainUserQueryRepository::toView);
+    }
+
+    @Override
+    public List<UserView> findAllByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Long> distinct = ids.stream().distinct().toList();
+        List<User> users = new ArrayList<>(distinct.size());
+        for (int from = 0; from < distinct.size(); from += MAX_IN_LIST) {
+            users.addAll(userRepository.findAllById(distinct.subList(from, Math.min(from + MAX_IN_LIST, distinct.size()))));
+        }
+        return users.stream()
+                .map(DomainUserQueryRepository::toView)
+                .sorted(Comparator.comparing(UserView::id))
+                .toList();
+    }
+
+    @Override
+    public List<UserView> findAll() {
+        return userRepository.findAll().stream()
+                .map(DomainUserQueryRepository::toView)
+                .toList();
+    }
+
+    @Override
+    public List<UserView> findPage(Long afterId, int limit) {
+        return userRepository.findPage(afterId, limit).stream()
+                .map(DomainUserQueryRepository::toView)
+                .toList();
+    }
+
+    private static UserView toView(User user) {
+        return new UserView(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                Objects.toString(user.getStatus(), null),
+                user.getCreatedAt(),
+                user.getUpdatedAt());
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.infrastructure.persistence.query;
+
+import com.example.application.query.UserQueryRepository;
+import com.example.application.query.UserView;
+import com.example.infrastructure.persistence.repository.UserJpaRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 用户查询仓储实现
+ * 通过JPQL构造器表达式直接投影需要的列，不产生托管实体，也不参与flush时的脏检查
+ */
+@Repository
+@ConditionalOnProperty(prefix = "app.persistence", name = "user-repository", havingValue = "jpa", matchIfMissing = true)
+public class UserQueryRepositoryImpl implements UserQueryRepository {
+
+    private static final int MAX_IN_LIST = 1000;
+
+    private final UserJpaRepository userJpaRepository;
+
+    public UserQueryRepositoryImpl(UserJpaRepository userJpaRepository) {
+        this.userJpaRepository = userJpaRepository;
+    }
+
+    @Override
+    public Optional<UserView> findById(Long id) {
+        return userJpaRepository.findViewById(id);
+    }
+
+    @Override
+    public List<UserView> findAllByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Long> distinct = ids.stream().distinct().sorted().toList();
+        if (distinct.size() <= MAX_IN_LIST) {
+            return userJpaRepository.findViewsByIdIn(distinct);
+        }
+        List<UserView> views = new ArrayList<>(distinct.size());
+        for (int from = 0; from < distinct.size(); from += MAX_IN_LIST) {
+            int to = Math.min(from + MAX_IN_LIST, distinct.size());
+            views.addAll(userJpaRepository.findViewsByIdIn(distinct.subList(from, to)));
+        }
+        return views;
+    }
+
+    @Override
+    public List<UserView> findAll() {
+        return userJpaRepository.findAllViews();
+    }
+
+    @Override
+    public List<UserView> findPage(Long afterId, int limit) {
+        return userJpaRepository.findViewsAfter(afterId != null ? afterId : 0L, PageRequest.of(0, limit));
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.infrastructure.persistence.repository;
+
+import com.example.infrastructure.persistence.entity.BulkOperationEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 批量操作JPA仓储
+ */
+@Repository
+public interface BulkOperationJpaRepository extends JpaRepository<BulkOperationEntity, Long> {
+    
+    List<BulkOperationEntity> findByStatusInOrderByIdAsc(Collection<String> statuses);
+    
+    List<BulkOperationEntity> findAllByOrderByIdDesc(Pageable pageable);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("update BulkOperationEntity o set o.status = :target, o.error = :error, o.updatedAt = :now "
+            + "where o.id = :id and o.status in :expected")
+    int compareAndSetStatus(
+            @Param("id") Long id,
+            @Param("expected") Collection<String> expected,
+            @Param("target") String target,
+            @Param("error") String error,
+            @Param("now") LocalDateTime now);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("update BulkOperationEntity o set o.cursorId = :cursorId, "
+            + "o.affectedCount = o.affectedCount + :affectedDelta, o.updatedAt = :now where o.id = :id")
+    int recordProgress(
+            @Param("id") Long id,
+            @Param("cursorId") long cursorId,
+            @Param("affectedDelta") long affectedDelta,
+            @Param("now") LocalDateTime now);
+}
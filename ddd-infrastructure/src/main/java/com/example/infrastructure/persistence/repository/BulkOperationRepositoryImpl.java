@@ -0,0 +1,84 @@
+package com.example.infrastructure.persistence.repository;
+
+import com.example.application.bulk.BulkOperation;
+import com.example.application.bulk.BulkOperationRepository;
+import com.example.application.bulk.BulkOperationStatus;
+import com.example.infrastructure.persistence.entity.BulkOperationEntity;
+import com.example.infrastructure.persistence.mapper.BulkOperationEntityMapper;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * 批量操作仓储实现
+ * 任务表始终在主数据源，与分片方式无关
+ */
+@Repository
+public class BulkOperationRepositoryImpl implements BulkOperationRepository {
+    
+    private static final int MAX_ERROR_LENGTH = 500;
+    
+    private final BulkOperationJpaRepository bulkOperationJpaRepository;
+    private final BulkOperationEntityMapper bulkOperationEntityMapper;
+    
+    public BulkOperationRepositoryImpl(
+            BulkOperationJpaRepository bulkOperationJpaRepository,
+            BulkOperationEntityMapper bulkOperationEntityMapper) {
+        this.bulkOperationJpaRepository = bulkOperationJpaRepository;
+        this.bulkOperationEntityMapper = bulkOperationEntityMapper;
+    }
+    
+    @Override
+    public BulkOperation create(BulkOperation operation) {
+        BulkOperationEntity entity = bulkOperationEntityMapper.toEntity(operation);
+        LocalDateTime now = LocalDateTime.now();
+        entity.setCreatedAt(now);
+        entity.setUpdatedAt(now);
+        return bulkOperationEntityMapper.toDomain(bulkOperationJpaRepository.save(entity));
+    }
+    
+    @Override
+    public Optional<BulkOperation> findById(Long id) {
+        return bulkOperationJpaRepository.findById(id)
+                .map(bulkOperationEntityMapper::toDomain);
+    }
+    
+    @Override
+    public List<BulkOperation> findRecent(int limit) {
+        return bulkOperationJpaRepository.findAllByOrderByIdDesc(PageRequest.of(0, limit)).stream()
+                .map(bulkOperationEntityMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public List<BulkOperation> findByStatusIn(Collection<BulkOperationStatus> statuses) {
+        return bulkOperationJpaRepository.findByStatusInOrderByIdAsc(names(statuses)).stream()
+                .map(bulkOperationEntityMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public boolean compareAndSetStatus(
+            Long id,
+            Collection<BulkOperationStatus> expected,
+            BulkOperationStatus target,
+            String error) {
+        String truncated = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        return bulkOperationJpaRepository.compareAndSetStatus(
+                id, names(expected), target.name(), truncated, LocalDateTime.now()) > 0;
+    }
+    
+    @Override
+    public void recordProgress(Long id, long cursorId, long affectedDelta) {
+        bulkOperationJpaRepository.recordProgress(id, cursorId, affectedDelta, LocalDateTime.now());
+    }
+    
+    private static List<String> names(Collection<BulkOperationStatus> statuses) {
+        return statuses.stream().map(Enum::name).collect(Collectors.toList());
+    }
+}
@@ -1,9 +1,15 @@
 package com.example.infrastructure.persistence.repository;
 
+import com.example.application.query.UserView;
 import com.example.infrastructure.persistence.entity.UserEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -17,8 +23,30 @@ public interface UserJpaRepository extends JpaRepository<UserEntity, Long> {
     
     Optional<UserEntity> findByEmail(String email);
     
-    boolean existsByUsername(String username);
+    List<UserEntity> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
     
-    boolean existsByEmail(String email);
+    /**
+     * 包含墓碑行：已删除用户的用户名和邮箱在物理清理前仍受唯一约束
+     */
+    @Query(value = "SELECT COUNT(*) > 0 FROM users WHERE username = :username", nativeQuery = true)
+    boolean existsByUsername(@Param("username") String username);
+    
+    @Query(value = "SELECT COUNT(*) > 0 FROM users WHERE email = :email", nativeQuery = true)
+    boolean existsByEmail(@Param("email") String email);
+    
+    String VIEW_SELECT = "select new com.example.application.query.UserView("
+            + "u.id, u.username, u.email, u.status, u.createdAt, u.updatedAt) from UserEntity u";
+    
+    @Query(VIEW_SELECT + " where u.id = :id")
+    Optional<UserView> findViewById(@Param("id") Long id);
+    
+    @Query(VIEW_SELECT + " where u.id in :ids order by u.id")
+    List<UserView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query(VIEW_SELECT + " order by u.id")
+    List<UserView> findAllViews();
+    
+    @Query(VIEW_SELECT + " where u.id > :afterId order by u.id")
+    List<UserView> findViewsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
 
@@ -5,8 +5,11 @@ import com.example.domain.model.user.UserStatus;
 import com.example.domain.repository.UserRepository;
 import com.example.infrastructure.persistence.entity.UserEntity;
 import com.example.infrastructure.persistence.mapper.UserEntityMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -16,6 +19,7 @@ import java.util.stream.Collectors;
  * 实现领域层的仓储接口
  */
 @Repository
+@ConditionalOnProperty(prefix = "app.persistence", name = "user-repository", havingValue = "jpa", matchIfMissing = true)
 public class UserRepositoryImpl implements UserRepository {
     
     private final UserJpaRepository userJpaRepository;
@@ -45,6 +49,13 @@ public class UserRepositoryImpl implements UserRepository {
                 .map(userEntityMapper::toDomain);
     }
     
+    @Override
+    public List<User> findAllById(Collection<Long> ids) {
+        return userJpaRepository.findAllById(ids).stream()
+                .map(userEntityMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+    
     @Override
     public Optional<User> findByUsername(String username) {
         return userJpaRepository.findByUsername(username)
@@ -78,5 +89,13 @@ public class UserRepositoryImpl implements UserRepository {
                 .map(userEntityMapper::toDomain)
                 .collect(Collectors.toList());
     }
+    
+    @Override
+    public List<User> findPage(Long afterId, int limit) {
+        return userJpaRepository.findByIdGreaterThanOrderByIdAsc(afterId != null ? afterId : 0L, PageRequest.of(0, limit))
+                .stream()
+                .map(userEntityMapper::toDomain)
+                .collect(Collectors.toList());
+    }
 }
 
@@ -0,0 +1,18 @@
+package com.example.infrastructure.persistence.shard;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * 用户表分片
+ * @param name 分片名称，决定其在哈希环上的位置
+ * @param dataSource 分片数据源
+ * @param jdbcTemplate 分片JDBC模板
+ */
+public record Shard(String name, DataSource dataSource, JdbcTemplate jdbcTemplate) {
+
+    public Shard(String name, DataSource dataSource) {
+        this(name, dataSource, new JdbcTemplate(dataSource));
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.infrastructure.persistence.shard;
+
+import com.example.domain.model.user.User;
+import com.example.infrastructure.persistence.mapper.UserRowMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 分片再平衡工具
+ * 新增分片后扫描每个分片，将哈希环归属已变化的行迁移到新分片。
+ * 迁移按批次先写入目标分片再从源分片删除，可重复执行；执行期间应暂停写入。
+ * 墓碑行不迁移，留在原分片等待归档任务清理
+ */
+@Slf4j
+public class ShardRebalancer {
+
+    private final ShardRouter shardRouter;
+    private final int batchSize;
+
+    public ShardRebalancer(ShardRouter shardRouter, int batchSize) {
+        this.shardRouter = shardRouter;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 执行再平衡
+     * @return 每个源分片迁出的行数
+     */
+    public Map<String, Long> rebalance() {
+        Map<String, Long> moved = new LinkedHashMap<>();
+        for (Shard source : shardRouter.shards()) {
+            long count = drain(source);
+            moved.put(source.name(), count);
+            log.info("Rebalanced shard {}: moved {} users", source.name(), count);
+        }
+        return moved;
+    }
+
+    private long drain(Shard source) {
+        long moved = 0;
+        long lastId = Long.MIN_VALUE;
+        while (true) {
+            List<User> batch = source.jdbcTemplate().query(
+                    "SELECT " + UserRowMapper.COLUMNS + " FROM users WHERE id > ? AND deleted = FALSE ORDER BY id LIMIT ?",
+                    UserRowMapper.INSTANCE, lastId, batchSize);
+            if (batch.isEmpty()) {
+                return moved;
+            }
+            for (User user : batch) {
+                Shard target = shardRouter.shardFor(user.getId());
+                if (!target.name().equals(source.name())) {
+                    copy(user, target);
+                    source.jdbcTemplate().update("DELETE FROM users WHERE id = ?", user.getId());
+                    moved++;
+                }
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+    }
+
+    private void copy(User user, Shard target) {
+        try {
+            target.jdbcTemplate().update(ShardedUserRepository.INSERT_SQL, ShardedUserRepository.insertArgs(user));
+        } catch (DuplicateKeyException e) {
+            // 上次中断时已复制，直接删除源数据即可
+            log.debug("User {} already present on shard {}", user.getId(), target.name());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.infrastructure.persistence.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * 分片路由
+ * 基于一致性哈希将用户ID映射到分片，新增分片时只需迁移约1/N的数据
+ */
+public class ShardRouter implements AutoCloseable {
+
+    private final List<Shard> shards;
+    private final NavigableMap<Long, Shard> ring = new TreeMap<>();
+
+    public ShardRouter(List<Shard> shards, int virtualNodes) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("至少需要配置一个分片");
+        }
+        this.shards = List.copyOf(shards);
+        for (Shard shard : shards) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hashNode(shard.name() + "#" + i), shard);
+            }
+        }
+    }
+
+    /**
+     * 根据用户ID定位分片
+     */
+    public Shard shardFor(long id) {
+        Map.Entry<Long, Shard> entry = ring.ceilingEntry(mix(id));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    /**
+     * 所有分片
+     */
+    public List<Shard> shards() {
+        return shards;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Shard shard : shards) {
+            if (shard.dataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long hashNode(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            long hash = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                hash = (hash << 8) | (digest[i] & 0xFF);
+            }
+            return hash;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.infrastructure.persistence.shard;
+
+import com.example.domain.model.user.User;
+import com.example.domain.repository.UserRepository;
+import com.example.infrastructure.persistence.mapper.UserRowMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+/**
+ * 分片用户仓储实现
+ * 按ID一致性哈希将用户分布到多个数据源，用户名和邮箱通过全局目录定位；
+ * 删除只在分片上打墓碑标记并保留目录登记，物理删除和目录清理由归档任务完成
+ */
+public class ShardedUserRepository implements UserRepository {
+
+    static final String SHARD_DDL = """
+            CREATE TABLE IF NOT EXISTS users (
+                id BIGINT PRIMARY KEY,
+                username VARCHAR(50) NOT NULL,
+                email VARCHAR(100) NOT NULL,
+                password VARCHAR(255) NOT NULL,
+                status VARCHAR(20) NOT NULL,
+                created_at TIMESTAMP,
+                updated_at TIMESTAMP,
+                created_by VARCHAR(255),
+                updated_by VARCHAR(255),
+                deleted BOOLEAN DEFAULT FALSE NOT NULL,
+                deleted_at TIMESTAMP
+            )""";
+
+    static final String INSERT_SQL = "INSERT INTO users (" + UserRowMapper.COLUMNS
+            + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_BY_ID_SQL =
+            "SELECT " + UserRowMapper.COLUMNS + " FROM users WHERE id = ? AND deleted = FALSE";
+
+    private static final String SELECT_ALL_SQL =
+            "SELECT " + UserRowMapper.COLUMNS + " FROM users WHERE deleted = FALSE ORDER BY id";
+
+    private static final String SELECT_PAGE_SQL =
+            "SELECT " + UserRowMapper.COLUMNS + " FROM users WHERE id > ? AND deleted = FALSE ORDER BY id LIMIT ?";
+
+    private final ShardRouter shardRouter;
+    private final UserDirectory userDirectory;
+    private final ExecutorService scatterExecutor;
+
+    public ShardedUserRepository(
+            ShardRouter shardRouter,
+            UserDirectory userDirectory,
+            ExecutorService scatterExecutor) {
+        this.shardRouter = shardRouter;
+        this.userDirectory = userDirectory;
+        this.scatterExecutor = scatterExecutor;
+    }
+
+    /**
+     * 在所有分片上建表
+     */
+    public void initializeSchema() {
+        shardRouter.shards().forEach(shard -> shard.jdbcTemplate().execute(SHARD_DDL));
+    }
+
+    @Override
+    public User save(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        if (user.getId() == null) {
+            long id = userDirectory.register(user.getUsername(), user.getEmail());
+            user.setId(id);
+            user.setCreatedAt(now);
+            user.setUpdatedAt(now);
+            try {
+                shardRouter.shardFor(id).jdbcTemplate().update(INSERT_SQL, insertArgs(user));
+            } catch (RuntimeException e) {
+                // 目录和分片不在同一事务，分片写入失败时撤销登记，否则用户名和邮箱被永久占用
+                userDirectory.remove(id);
+                user.setId(null);
+                throw e;
+            }
+            return user;
+        }
+        String previousEmail = userDirectory.findEmailById(user.getId()).orElse(null);
+        userDirectory.updateEmail(user.getId(), user.getEmail());
+        user.setUpdatedAt(now);
+        int updated;
+        try {
+            updated = shardRouter.shardFor(user.getId()).jdbcTemplate().update(
+                    "UPDATE users SET email = ?, password = ?, status = ?, updated_at = ?, updated_by = ?"
+                            + " WHERE id = ? AND deleted = FALSE",
+                    user.getEmail(), user.getPassword(), user.getStatus().name(),
+                    user.getUpdatedAt(), user.getUpdatedBy(), user.getId());
+        } catch (RuntimeException e) {
+            restoreEmail(user.getId(), previousEmail, e);
+            throw e;
+        }
+        if (updated == 0) {
+            // 用户已被删除（包括并发删除），目录中的邮箱同样要还原
+            IllegalArgumentException e = new IllegalArgumentException("用户不存在");
+            restoreEmail(user.getId(), previousEmail, e);
+            throw e;
+        }
+        return user;
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        List<User> users = shardRouter.shardFor(id).jdbcTemplate()
+                .query(SELECT_BY_ID_SQL, UserRowMapper.INSTANCE, id);
+        return users.stream().findFirst();
+    }
+
+    /**
+     * 按分片分组，每个分片一次IN查询，分片之间并行
+     */
+    @Override
+    public List<User> findAllById(Collection<Long> ids) {
+        Map<Shard, List<Long>> byShard = ids.stream()
+                .distinct()
+                .collect(Collectors.groupingBy(shardRouter::shardFor));
+        List<CompletableFuture<List<User>>> futures = byShard.entrySet().stream()
+                .map(entry -> CompletableFuture.supplyAsync(
+                        () -> entry.getKey().jdbcTemplate().query(
+                                "SELECT " + UserRowMapper.COLUMNS + " FROM users WHERE id IN ("
+                                        + String.join(", ", Collections.nCopies(entry.getValue().size(), "?"))
+                                        + ") AND deleted = FALSE",
+                                UserRowMapper.INSTANCE, entry.getValue().toArray()),
+                        scatterExecutor))
+                .toList();
+        return futures.stream()
+                .flatMap(future -> future.join().stream())
+                .toList();
+    }
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return userDirectory.findIdByUsername(username).flatMap(this::findById);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return userDirectory.findIdByEmail(email).flatMap(this::findById);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        shardRouter.shardFor(id).jdbcTemplate().update(
+                "UPDATE users SET deleted = TRUE, deleted_at = CURRENT_TIMESTAMP WHERE id = ? AND deleted = FALSE",
+                id);
+    }
+
+    @Override
+    public boolean existsByUsername(String username) {
+        return userDirectory.existsByUsername(username);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return userDirectory.existsByEmail(email);
+    }
+
+    /**
+     * 并行查询所有分片，再按ID归并
+     */
+    @Override
+    public List<User> findAll() {
+        List<CompletableFuture<List<User>>> futures = shardRouter.shards().stream()
+                .map(shard -> CompletableFuture.supplyAsync(
+                        () -> shard.jdbcTemplate().query(SELECT_ALL_SQL, UserRowMapper.INSTANCE),
+                        scatterExecutor))
+                .toList();
+        List<List<User>> partitions = futures.stream()
+                .map(CompletableFuture::join)
+                .toList();
+        return mergeById(partitions);
+    }
+
+    /**
+     * 每个分片各取一页，归并后截取前limit个
+     */
+    @Override
+    public List<User> findPage(Long afterId, int limit) {
+        long after = afterId != null ? afterId : 0L;
+        List<CompletableFuture<List<User>>> futures = shardRouter.shards().stream()
+                .map(shard -> CompletableFuture.supplyAsync(
+                        () -> shard.jdbcTemplate().query(SELECT_PAGE_SQL, UserRowMapper.INSTANCE, after, limit),
+                        scatterExecutor))
+                .toList();
+        List<List<User>> partitions = futures.stream()
+                .map(CompletableFuture::join)
+                .toList();
+        List<User> merged = mergeById(partitions);
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    /**
+     * 目录和分片不在同一事务，分片更新失败时把目录中的邮箱改回原值，还原失败附加到原异常上
+     */
+    private void restoreEmail(long id, String previousEmail, RuntimeException cause) {
+        if (previousEmail == null) {
+            return;
+        }
+        try {
+            userDirectory.updateEmail(id, previousEmail);
+        } catch (RuntimeException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    static Object[] insertArgs(User user) {
+        return new Object[]{
+                user.getId(), user.getUsername(), user.getEmail(), user.getPassword(),
+                user.getStatus().name(), user.getCreatedAt(), user.getUpdatedAt(),
+                user.getCreatedBy(), user.getUpdatedBy()
+        };
+    }
+
+    private static List<User> mergeById(List<List<User>> partitions) {
+        int total = partitions.stream().mapToInt(List::size).sum();
+        List<User> merged = new ArrayList<>(total);
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(Comparator.comparing(cursor -> cursor.head.getId()));
+        for (List<User> partition : partitions) {
+            Iterator<User> iterator = partition.iterator();
+            if (iterator.hasNext()) {
+                heads.add(new Cursor(iterator.next(), iterator));
+            }
+        }
+        while (!heads.isEmpty()) {
+            Cursor cursor = heads.poll();
+            merged.add(cursor.head);
+            if (cursor.rest.hasNext()) {
+                heads.add(new Cursor(cursor.rest.next(), cursor.rest));
+            }
+        }
+        return merged;
+    }
+
+    private record Cursor(User head, Iterator<User> rest) {
+    }
+}
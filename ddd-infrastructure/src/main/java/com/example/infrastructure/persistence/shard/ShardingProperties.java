@@ -0,0 +1,46 @@
+package com.example.infrastructure.persistence.shard;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 用户表分片配置
+ */
+@Data
+@ConfigurationProperties(prefix = "app.sharding")
+public class ShardingProperties {
+
+    /**
+     * 分片数据源，按名称参与一致性哈希，新增分片后需执行再平衡
+     */
+    private List<ShardDataSource> shards = new ArrayList<>();
+
+    /**
+     * 每个分片在哈希环上的虚拟节点数
+     */
+    private int virtualNodes = 128;
+
+    /**
+     * 再平衡时每批迁移的行数
+     */
+    private int rebalanceBatchSize = 500;
+
+    @Data
+    public static class ShardDataSource {
+
+        private String name;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private String driverClassName;
+
+        private int maximumPoolSize = 10;
+    }
+}
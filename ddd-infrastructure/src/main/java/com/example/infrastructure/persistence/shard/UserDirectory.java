@@ -0,0 +1,85 @@
+package com.example.infrastructure.persistence.shard;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 全局用户目录
+ * 保存在主库，负责分配全局ID并保证用户名、邮箱全局唯一
+ */
+public class UserDirectory {
+
+    static final String DDL = """
+            CREATE TABLE IF NOT EXISTS user_directory (
+                id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                username VARCHAR(50) NOT NULL,
+                email VARCHAR(100) NOT NULL,
+                CONSTRAINT uk_user_directory_username UNIQUE (username),
+                CONSTRAINT uk_user_directory_email UNIQUE (email)
+            )""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserDirectory(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void initialize() {
+        jdbcTemplate.execute(DDL);
+    }
+
+    /**
+     * 登记用户名和邮箱，唯一约束冲突时抛出DuplicateKeyException
+     * @return 分配的全局ID
+     */
+    public long register(String username, String email) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO user_directory (username, email) VALUES (?, ?)", new String[]{"id"});
+            ps.setString(1, username);
+            ps.setString(2, email);
+            return ps;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+
+    public void updateEmail(long id, String email) {
+        jdbcTemplate.update("UPDATE user_directory SET email = ? WHERE id = ?", email, id);
+    }
+
+    public void remove(long id) {
+        jdbcTemplate.update("DELETE FROM user_directory WHERE id = ?", id);
+    }
+
+    public Optional<String> findEmailById(long id) {
+        List<String> emails = jdbcTemplate.queryForList("SELECT email FROM user_directory WHERE id = ?", String.class, id);
+        return emails.stream().findFirst();
+    }
+
+    public Optional<Long> findIdByUsername(String username) {
+        return single("SELECT id FROM user_directory WHERE username = ?", username);
+    }
+
+    public Optional<Long> findIdByEmail(String email) {
+        return single("SELECT id FROM user_directory WHERE email = ?", email);
+    }
+
+    public boolean existsByUsername(String username) {
+        return findIdByUsername(username).isPresent();
+    }
+
+    public boolean existsByEmail(String email) {
+        return findIdByEmail(email).isPresent();
+    }
+
+    private Optional<Long> single(String sql, String value) {
+        List<Long> ids = jdbcTemplate.queryForList(sql, Long.class, value);
+        return ids.stream().findFirst();
+    }
+}
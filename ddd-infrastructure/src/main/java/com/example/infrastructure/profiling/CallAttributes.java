@@ -0,0 +1,52 @@
+package com.example.infrastructure.profiling;
+
+import com.example.application.dto.UserDTO;
+import com.example.application.query.UserView;
+import com.example.domain.model.user.User;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * 从用例和仓储调用的参数、返回值中提取用户ID和行数，供JFR事件和追踪span共用
+ */
+public final class CallAttributes {
+
+    private CallAttributes() {
+    }
+
+    /**
+     * 取第一个Long参数，否则取返回的单个用户的ID，都没有时为0
+     */
+    public static long userId(Object[] args, Object result) {
+        for (Object arg : args) {
+            if (arg instanceof Long id) {
+                return id;
+            }
+        }
+        Object single = result instanceof Optional<?> optional ? optional.orElse(null) : result;
+        if (single instanceof User user && user.getId() != null) {
+            return user.getId();
+        }
+        if (single instanceof UserDTO dto && dto.getId() != null) {
+            return dto.getId();
+        }
+        if (single instanceof UserView view && view.id() != null) {
+            return view.id();
+        }
+        return 0;
+    }
+
+    /**
+     * 集合取元素数，Optional取0或1，其余非空返回值记为1
+     */
+    public static int rows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return result != null ? 1 : 0;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.infrastructure.profiling;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JFR录制端点
+ * GET /actuator/jfr 查看录制，GET /actuator/jfr/summary 查看最近一次转储的摘要，
+ * POST /actuator/jfr/start|stop|dump 控制录制
+ */
+@Endpoint(id = "jfr")
+public class FlightRecorderEndpoint {
+
+    private static final int DEFAULT_TOP = 10;
+
+    private final FlightRecorderService flightRecorderService;
+
+    public FlightRecorderEndpoint(FlightRecorderService flightRecorderService) {
+        this.flightRecorderService = flightRecorderService;
+    }
+
+    @ReadOperation
+    public Map<String, Object> recordings() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("recordings", flightRecorderService.getRecordings());
+        Path lastDump = flightRecorderService.getLastDump();
+        if (lastDump != null) {
+            status.put("lastDump", lastDump.toString());
+        }
+        return status;
+    }
+
+    /**
+     * 返回null时响应404
+     */
+    @ReadOperation
+    public Map<String, Object> view(@Selector String view, @Nullable Integer top) {
+        if (!"summary".equals(view)) {
+            return null;
+        }
+        return flightRecorderService.summary(top != null && top > 0 ? top : DEFAULT_TOP);
+    }
+
+    @WriteOperation
+    public Map<String, Object> control(
+            @Selector String action,
+            @Nullable String name,
+            @Nullable Long durationSeconds) {
+        try {
+            return switch (action) {
+                case "start" -> flightRecorderService.start(
+                        name, durationSeconds != null ? Duration.ofSeconds(durationSeconds) : null);
+                case "stop" -> Map.of("file", flightRecorderService.stop(name).toString());
+                case "dump" -> Map.of("file", flightRecorderService.dump(name).toString());
+                default -> null;
+            };
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return Map.of("error", e.getMessage());
+        }
+    }
+}
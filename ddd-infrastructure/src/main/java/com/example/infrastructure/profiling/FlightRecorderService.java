@@ -0,0 +1,262 @@
+package com.example.infrastructure.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * JFR录制管理
+ * 持续录制在后台滚动保留最近一段时间，按需录制使用更细的配置，停止或到时后写入转储目录；
+ * 摘要基于最近一次转储的文件计算并缓存
+ */
+@Slf4j
+public class FlightRecorderService implements DisposableBean {
+
+    static final String CONTINUOUS = "continuous";
+
+    private static final Pattern NAME_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final ProfilingProperties properties;
+    private final Path dumpDirectory;
+    private final Map<String, Recording> recordings = new ConcurrentHashMap<>();
+    private final FlightRecorderListener listener = new FlightRecorderListener() {
+        @Override
+        public void recordingStateChanged(Recording recording) {
+            onStateChanged(recording);
+        }
+    };
+
+    private volatile Path lastDump;
+    private volatile Path summarizedDump;
+    private volatile Map<String, Object> summary;
+
+    public FlightRecorderService(ProfilingProperties properties) {
+        this.properties = properties;
+        this.dumpDirectory = Paths.get(properties.getDumpDirectory()).toAbsolutePath().normalize();
+        FlightRecorder.addListener(listener);
+    }
+
+    /**
+     * 开启持续录制
+     */
+    public synchronized void startContinuous() {
+        Recording recording = newRecording("default");
+        recording.setName(CONTINUOUS);
+        recording.setMaxAge(properties.getMaxAge());
+        recording.setMaxSize(properties.getMaxSize());
+        recording.start();
+        recordings.put(CONTINUOUS, recording);
+        log.info("Continuous JFR recording started (max age {}, max size {} MiB)",
+                properties.getMaxAge(), properties.getMaxSize() / (1024 * 1024));
+    }
+
+    /**
+     * 开启一次按需录制，duration为空时需手动停止
+     */
+    public synchronized Map<String, Object> start(String name, Duration duration) {
+        validateName(name);
+        if (CONTINUOUS.equals(name) || recordings.containsKey(name)) {
+            throw new IllegalStateException("录制已存在: " + name);
+        }
+        Recording recording = newRecording(properties.getOnDemandSettings());
+        recording.setName(name);
+        try {
+            recording.setDestination(nextDumpFile(name));
+        } catch (IOException e) {
+            recording.close();
+            throw new UncheckedIOException(e);
+        }
+        if (duration != null) {
+            recording.setDuration(duration);
+        }
+        recording.start();
+        recordings.put(name, recording);
+        log.info("JFR recording {} started with {} settings{}", name, properties.getOnDemandSettings(),
+                duration != null ? " for " + duration : "");
+        return describe(recording);
+    }
+
+    /**
+     * 停止按需录制并写入转储文件
+     */
+    public synchronized Path stop(String name) {
+        Recording recording = recordings.get(name);
+        if (recording == null || CONTINUOUS.equals(name)) {
+            throw new IllegalArgumentException("没有进行中的按需录制: " + name);
+        }
+        Path destination = recording.getDestination();
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        return destination;
+    }
+
+    /**
+     * 把录制到目前为止的数据转储到文件，录制继续进行；name为空时转储持续录制
+     */
+    public Path dump(String name) {
+        String target = name == null || name.isBlank() ? CONTINUOUS : name;
+        Recording recording = recordings.get(target);
+        if (recording == null) {
+            throw new IllegalArgumentException("录制不存在: " + target);
+        }
+        try {
+            Path file = nextDumpFile(target);
+            recording.dump(file);
+            dumped(file);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public List<Map<String, Object>> getRecordings() {
+        return recordings.values().stream()
+                .sorted(Comparator.comparing(Recording::getId))
+                .map(FlightRecorderService::describe)
+                .toList();
+    }
+
+    public Path getLastDump() {
+        return lastDump;
+    }
+
+    /**
+     * 最近一次转储的摘要，没有转储时为null
+     */
+    public Map<String, Object> summary(int top) {
+        Path file = lastDump;
+        if (file == null) {
+            return null;
+        }
+        synchronized (this) {
+            if (!file.equals(summarizedDump)) {
+                try {
+                    summary = RecordingSummary.analyze(file, top);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                summarizedDump = file;
+            }
+            return summary;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        FlightRecorder.removeListener(listener);
+        recordings.values().forEach(Recording::close);
+        recordings.clear();
+    }
+
+    private void onStateChanged(Recording recording) {
+        if (recording.getState() != RecordingState.STOPPED && recording.getState() != RecordingState.CLOSED) {
+            return;
+        }
+        if (recordings.remove(recording.getName(), recording) && recording.getDestination() != null) {
+            // 停止时JFR已把数据写到destination，到时自动停止也走这里
+            dumped(recording.getDestination());
+            log.info("JFR recording {} written to {}", recording.getName(), recording.getDestination());
+            if (recording.getState() == RecordingState.STOPPED) {
+                recording.close();
+            }
+        }
+    }
+
+    private Recording newRecording(String settings) {
+        try {
+            Recording recording = new Recording(Configuration.getConfiguration(settings));
+            recording.setToDisk(true);
+            Duration threshold = properties.getEventThreshold();
+            recording.enable(UseCaseEvent.class).withThreshold(threshold);
+            recording.enable(RepositoryCallEvent.class).withThreshold(threshold);
+            return recording;
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("无法加载JFR配置: " + settings, e);
+        }
+    }
+
+    private Path nextDumpFile(String name) throws IOException {
+        Files.createDirectories(dumpDirectory);
+        return dumpDirectory.resolve(name + "-" + LocalDateTime.now().format(FILE_TIME) + ".jfr");
+    }
+
+    private void dumped(Path file) {
+        lastDump = file;
+        prune();
+    }
+
+    /**
+     * 只保留最近的若干个转储文件
+     */
+    private void prune() {
+        if (properties.getRetainDumps() <= 0) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(dumpDirectory)) {
+            List<Path> dumps = files
+                    .filter(file -> file.getFileName().toString().endsWith(".jfr"))
+                    .sorted(Comparator.comparing(FlightRecorderService::lastModified).reversed())
+                    .toList();
+            for (Path old : dumps.subList(Math.min(properties.getRetainDumps(), dumps.size()), dumps.size())) {
+                Files.deleteIfExists(old);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to prune JFR dumps in {}", dumpDirectory, e);
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void validateName(String name) {
+        if (name == null || !NAME_PATTERN.matcher(name).matches()) {
+            throw new IllegalArgumentException("录制名只能包含字母、数字、下划线和连字符，最长64个字符");
+        }
+    }
+
+    private static Map<String, Object> describe(Recording recording) {
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("name", recording.getName());
+        info.put("state", recording.getState().name());
+        info.put("startTime", recording.getStartTime());
+        if (recording.getDuration() != null) {
+            info.put("duration", recording.getDuration().toString());
+        }
+        if (recording.getMaxAge() != null) {
+            info.put("maxAge", recording.getMaxAge().toString());
+        }
+        info.put("sizeBytes", recording.getSize());
+        if (recording.getDestination() != null) {
+            info.put("destination", recording.getDestination().toString());
+        }
+        return info;
+    }
+}
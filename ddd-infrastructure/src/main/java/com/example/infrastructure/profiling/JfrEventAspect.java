@@ -0,0 +1,62 @@
+package com.example.infrastructure.profiling;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * 为应用服务用例和用户仓储调用发出JFR事件
+ * 事件未被任何录制启用时只多一次isEnabled判断
+ */
+@Aspect
+public class JfrEventAspect {
+
+    @Around("execution(public * com.example.application.service.*Service.*(..))")
+    public Object recordUseCase(ProceedingJoinPoint joinPoint) throws Throwable {
+        UseCaseEvent event = new UseCaseEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        Object result = null;
+        try {
+            result = joinPoint.proceed();
+            event.success = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = joinPoint.getSignature().getDeclaringType().getSimpleName()
+                        + "." + joinPoint.getSignature().getName();
+                event.userId = CallAttributes.userId(joinPoint.getArgs(), result);
+                event.rows = CallAttributes.rows(result);
+                event.commit();
+            }
+        }
+    }
+
+    @Around("execution(public * com.example.domain.repository.UserRepository+.*(..))"
+            + " || execution(public * com.example.application.query.UserQueryRepository+.*(..))")
+    public Object recordRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        Object result = null;
+        try {
+            result = joinPoint.proceed();
+            event.success = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.repository = joinPoint.getTarget().getClass().getSimpleName();
+                event.operation = joinPoint.getSignature().getName();
+                event.userId = CallAttributes.userId(joinPoint.getArgs(), result);
+                event.rows = CallAttributes.rows(result);
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.infrastructure.profiling;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * JFR性能剖析配置
+ */
+@Data
+@ConfigurationProperties(prefix = "app.profiling")
+public class ProfilingProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * 启动时开启持续录制，使用JDK自带的低开销default配置
+     */
+    private boolean continuous = true;
+
+    /**
+     * 持续录制保留的时间窗口
+     */
+    private Duration maxAge = Duration.ofMinutes(30);
+
+    /**
+     * 持续录制在磁盘上的大小上限（字节）
+     */
+    private long maxSize = 256L * 1024 * 1024;
+
+    /**
+     * 按需录制使用的JFR配置，profile比default采样更密、阈值更低
+     */
+    private String onDemandSettings = "profile";
+
+    /**
+     * 自定义用例和仓储事件的记录阈值，低于该耗时的调用不记录
+     */
+    private Duration eventThreshold = Duration.ZERO;
+
+    /**
+     * 录制文件的转储目录
+     */
+    private String dumpDirectory = "./recordings";
+
+    /**
+     * 保留的转储文件数，0表示全部保留
+     */
+    private int retainDumps = 10;
+}
@@ -0,0 +1,186 @@
+package com.example.infrastructure.profiling;
+
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JFR录制文件摘要
+ * 汇总自定义用例和仓储事件的耗时，以及采样得到的分配热点和锁竞争（监视器进入和锁上的park）；
+ * 调用点取栈上第一个非JDK帧，取不到时取栈顶
+ */
+final class RecordingSummary {
+
+    private static final String USE_CASE = "com.example.UseCase";
+    private static final String REPOSITORY_CALL = "com.example.RepositoryCall";
+    private static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+    private static final String MONITOR_ENTER = "jdk.JavaMonitorEnter";
+    private static final String THREAD_PARK = "jdk.ThreadPark";
+
+    private RecordingSummary() {
+    }
+
+    static Map<String, Object> analyze(Path file, int top) throws IOException {
+        Map<String, Stat> useCases = new HashMap<>();
+        Map<String, Stat> repositoryCalls = new HashMap<>();
+        Map<String, Stat> allocations = new HashMap<>();
+        Map<String, Stat> contention = new HashMap<>();
+        Instant start = null;
+        Instant end = null;
+
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                if (start == null || event.getStartTime().isBefore(start)) {
+                    start = event.getStartTime();
+                }
+                if (end == null || event.getEndTime().isAfter(end)) {
+                    end = event.getEndTime();
+                }
+                switch (event.getEventType().getName()) {
+                    case USE_CASE -> stat(useCases, event.getString("operation"))
+                            .add(event.getDuration(), event.getInt("rows"));
+                    case REPOSITORY_CALL -> stat(repositoryCalls,
+                            event.getString("repository") + "." + event.getString("operation"))
+                            .add(event.getDuration(), event.getInt("rows"));
+                    case ALLOCATION_SAMPLE -> stat(allocations,
+                            className(event.getClass("objectClass")) + " @ " + site(event.getStackTrace()))
+                            .addWeight(event.getLong("weight"));
+                    case MONITOR_ENTER -> stat(contention,
+                            "monitor " + className(event.getClass("monitorClass")) + " @ " + site(event.getStackTrace()))
+                            .add(event.getDuration(), 0);
+                    case THREAD_PARK -> {
+                        if (isLockPark(event.getClass("parkedClass"))) {
+                            stat(contention, "park " + className(event.getClass("parkedClass"))
+                                    + " @ " + site(event.getStackTrace())).add(event.getDuration(), 0);
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("file", file.toString());
+        summary.put("start", start);
+        summary.put("end", end);
+        summary.put("useCases", timings(useCases, top));
+        summary.put("repositoryCalls", timings(repositoryCalls, top));
+        summary.put("allocationSites", allocationSites(allocations, top));
+        summary.put("lockContention", timings(contention, top));
+        return summary;
+    }
+
+    private static Stat stat(Map<String, Stat> stats, String key) {
+        return stats.computeIfAbsent(key, ignored -> new Stat());
+    }
+
+    private static List<Map<String, Object>> timings(Map<String, Stat> stats, int top) {
+        return stats.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Stat> entry) -> entry.getValue().totalNanos)
+                        .reversed())
+                .limit(top)
+                .map(entry -> {
+                    Stat stat = entry.getValue();
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("name", entry.getKey());
+                    row.put("count", stat.count);
+                    row.put("totalMs", millis(stat.totalNanos));
+                    row.put("avgMs", millis(stat.totalNanos / Math.max(1, stat.count)));
+                    row.put("maxMs", millis(stat.maxNanos));
+                    if (stat.rows > 0) {
+                        row.put("rows", stat.rows);
+                    }
+                    return row;
+                })
+                .toList();
+    }
+
+    private static List<Map<String, Object>> allocationSites(Map<String, Stat> stats, int top) {
+        long total = stats.values().stream().mapToLong(stat -> stat.weight).sum();
+        return stats.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Stat> entry) -> entry.getValue().weight)
+                        .reversed())
+                .limit(top)
+                .map(entry -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("site", entry.getKey());
+                    row.put("samples", entry.getValue().count);
+                    row.put("estimatedBytes", entry.getValue().weight);
+                    row.put("percent", total == 0 ? 0 : Math.round(entry.getValue().weight * 1000.0 / total) / 10.0);
+                    return row;
+                })
+                .toList();
+    }
+
+    private static String site(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        RecordedFrame chosen = frames.get(0);
+        for (RecordedFrame frame : frames) {
+            if (frame.isJavaFrame() && !isJdk(frame.getMethod().getType().getName())) {
+                chosen = frame;
+                break;
+            }
+        }
+        return chosen.getMethod().getType().getName() + "." + chosen.getMethod().getName()
+                + ":" + chosen.getLineNumber();
+    }
+
+    /**
+     * 只统计等待锁的park；条件变量上的等待（如空闲线程池取任务）不算竞争
+     */
+    private static boolean isLockPark(RecordedClass parkedClass) {
+        return parkedClass != null && !parkedClass.getName().endsWith("$ConditionObject");
+    }
+
+    private static boolean isJdk(String className) {
+        return className.startsWith("java.") || className.startsWith("javax.")
+                || className.startsWith("jdk.") || className.startsWith("sun.");
+    }
+
+    private static String className(RecordedClass recordedClass) {
+        return recordedClass != null ? recordedClass.getName() : "unknown";
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    private static final class Stat {
+
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private long rows;
+        private long weight;
+
+        private void add(Duration duration, long rows) {
+            long nanos = duration.toNanos();
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            this.rows += rows;
+        }
+
+        private void addWeight(long weight) {
+            count++;
+            this.weight += weight;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.infrastructure.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 仓储调用事件，合并读取之后实际到达存储的调用才会记录
+ */
+@Name("com.example.RepositoryCall")
+@Label("Repository Call")
+@Category({"DDD Scaffold", "Persistence"})
+@Description("UserRepository或UserQueryRepository实现的一次调用")
+@StackTrace(false)
+class RepositoryCallEvent extends Event {
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("User Id")
+    long userId;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Success")
+    boolean success;
+}
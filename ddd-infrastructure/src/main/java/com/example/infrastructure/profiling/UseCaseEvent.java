@@ -0,0 +1,31 @@
+package com.example.infrastructure.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 应用服务用例调用事件
+ */
+@Name("com.example.UseCase")
+@Label("Use Case")
+@Category({"DDD Scaffold", "Application"})
+@Description("应用服务公开方法的一次调用")
+@StackTrace(false)
+class UseCaseEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("User Id")
+    long userId;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Success")
+    boolean success;
+}
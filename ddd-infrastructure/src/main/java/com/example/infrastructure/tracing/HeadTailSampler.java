@@ -0,0 +1,61 @@
+package com.example.infrastructure.tracing;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+
+import java.util.List;
+
+/**
+ * 头部采样加尾部采样的采样器
+ * 新trace按traceId比例采样；未采中时若开启尾部采样则只记录不采样（RECORD_ONLY），
+ * 由TailSamplingSpanProcessor在根span结束后决定是否导出，否则直接丢弃。
+ * 本地子span沿用父span的决定，远端父span已采样时沿用
+ */
+public class HeadTailSampler implements Sampler {
+
+    private final Sampler head;
+    private final boolean tail;
+
+    public HeadTailSampler(double headSamplingRatio, boolean tail) {
+        this.head = Sampler.traceIdRatioBased(headSamplingRatio);
+        this.tail = tail;
+    }
+
+    @Override
+    public SamplingResult shouldSample(
+            Context parentContext,
+            String traceId,
+            String name,
+            SpanKind spanKind,
+            Attributes attributes,
+            List<LinkData> parentLinks) {
+        Span parentSpan = Span.fromContext(parentContext);
+        SpanContext parent = parentSpan.getSpanContext();
+        if (parent.isValid() && !parent.isRemote()) {
+            if (parent.isSampled()) {
+                return SamplingResult.recordAndSample();
+            }
+            return parentSpan.isRecording() ? SamplingResult.recordOnly() : SamplingResult.drop();
+        }
+        if (parent.isValid() && parent.isSampled()) {
+            return SamplingResult.recordAndSample();
+        }
+        SamplingResult headResult = head.shouldSample(parentContext, traceId, name, spanKind, attributes, parentLinks);
+        if (headResult.getDecision() == SamplingDecision.RECORD_AND_SAMPLE) {
+            return headResult;
+        }
+        return tail ? SamplingResult.recordOnly() : SamplingResult.drop();
+    }
+
+    @Override
+    public String getDescription() {
+        return "HeadTailSampler{head=" + head.getDescription() + ", tail=" + tail + "}";
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.infrastructure.tracing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 尾部采样span处理器
+ * 只处理未被头部采样、仅记录的span：按traceId缓冲，本地根span结束时整条trace一起判断，
+ * 含错误或根span耗时超过阈值则交给导出线程，否则丢弃。已采样的span由BatchSpanProcessor导出
+ */
+public class TailSamplingSpanProcessor implements SpanProcessor {
+
+    private static final int EXPORT_QUEUE_SIZE = 1_000;
+
+    private final SpanExporter exporter;
+    private final long latencyThresholdNanos;
+    private final boolean keepErrors;
+    private final int maxBufferedTraces;
+    private final Map<String, List<SpanData>> buffered = new LinkedHashMap<>();
+    private final ThreadPoolExecutor exportExecutor;
+    private final Counter kept;
+    private final Counter dropped;
+    private final Counter evicted;
+
+    public TailSamplingSpanProcessor(
+            SpanExporter exporter,
+            TracingProperties.TailSampling properties,
+            MeterRegistry meterRegistry) {
+        this.exporter = exporter;
+        this.latencyThresholdNanos = properties.getLatencyThreshold().toNanos();
+        this.keepErrors = properties.isKeepErrors();
+        this.maxBufferedTraces = properties.getMaxBufferedTraces();
+        this.exportExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(EXPORT_QUEUE_SIZE),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "tail-sampling-export");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+        if (meterRegistry != null) {
+            this.kept = Counter.builder("tracing.tail_sampling.kept").register(meterRegistry);
+            this.dropped = Counter.builder("tracing.tail_sampling.dropped").register(meterRegistry);
+            this.evicted = Counter.builder("tracing.tail_sampling.evicted")
+                    .description("缓冲已满时在根span结束前被丢弃的trace数")
+                    .register(meterRegistry);
+        } else {
+            this.kept = null;
+            this.dropped = null;
+            this.evicted = null;
+        }
+    }
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return false;
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        SpanContext context = span.getSpanContext();
+        if (context.isSampled()) {
+            return;
+        }
+        SpanData data = span.toSpanData();
+        SpanContext parent = span.getParentSpanContext();
+        boolean localRoot = !parent.isValid() || parent.isRemote();
+        List<SpanData> trace;
+        synchronized (buffered) {
+            if (!localRoot) {
+                buffered.computeIfAbsent(context.getTraceId(), traceId -> new ArrayList<>()).add(data);
+                evictOverflow();
+                return;
+            }
+            trace = buffered.remove(context.getTraceId());
+        }
+        if (trace == null) {
+            trace = new ArrayList<>(1);
+        }
+        trace.add(data);
+        if (shouldKeep(data, trace)) {
+            increment(kept);
+            List<SpanData> spans = trace;
+            exportExecutor.execute(() -> exporter.export(spans).join(10, TimeUnit.SECONDS));
+        } else {
+            increment(dropped);
+        }
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        exportExecutor.shutdown();
+        try {
+            exportExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (buffered) {
+            buffered.clear();
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    private boolean shouldKeep(SpanData root, List<SpanData> trace) {
+        if (root.getEndEpochNanos() - root.getStartEpochNanos() >= latencyThresholdNanos) {
+            return true;
+        }
+        return keepErrors && trace.stream().anyMatch(span -> span.getStatus().getStatusCode() == StatusCode.ERROR);
+    }
+
+    /**
+     * 超出上限时按插入顺序丢弃最早的trace，避免根span未结束的trace无限堆积
+     */
+    private void evictOverflow() {
+        Iterator<String> oldest = buffered.keySet().iterator();
+        while (buffered.size() > maxBufferedTraces && oldest.hasNext()) {
+            oldest.next();
+            oldest.remove();
+            increment(evicted);
+        }
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
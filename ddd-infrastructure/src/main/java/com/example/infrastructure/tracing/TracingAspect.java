@@ -0,0 +1,86 @@
+package com.example.infrastructure.tracing;
+
+import com.example.infrastructure.profiling.CallAttributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * 为接口、应用、领域、仓储四层的调用创建嵌套span
+ * 排在其他切面之前，事务等切面的耗时计入当前层的span
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TracingAspect {
+
+    private final Tracer tracer;
+
+    public TracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Around("execution(public * com.example.interfaces.rest.controller.*Controller.*(..))")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "interfaces", joinPoint.getSignature().getDeclaringType().getSimpleName(), true);
+    }
+
+    @Around("execution(public * com.example.application.service.*Service.*(..))")
+    public Object traceUseCase(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "application", joinPoint.getSignature().getDeclaringType().getSimpleName(), true);
+    }
+
+    @Around("execution(public * com.example.domain.service.*Service.*(..))")
+    public Object traceDomainService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "domain", joinPoint.getSignature().getDeclaringType().getSimpleName(), false);
+    }
+
+    @Around("execution(public * com.example.domain.repository.UserRepository+.*(..))"
+            + " || execution(public * com.example.application.query.UserQueryRepository+.*(..))")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "infrastructure", joinPoint.getTarget().getClass().getSimpleName(), false);
+    }
+
+    /**
+     * @param mayStartTrace 没有当前span时是否开启新trace；只有入口层（控制器、gRPC调用的应用服务）开启，
+     *                      领域服务和仓储在启动加载、后台任务中的调用不单独成trace
+     */
+    private Object trace(ProceedingJoinPoint joinPoint, String layer, String type, boolean mayStartTrace)
+            throws Throwable {
+        if (!mayStartTrace && !Span.current().getSpanContext().isValid()) {
+            return joinPoint.proceed();
+        }
+        String method = joinPoint.getSignature().getName();
+        Span span = tracer.spanBuilder(type + "." + method)
+                .setAttribute("app.layer", layer)
+                .setAttribute("code.namespace", type)
+                .setAttribute("code.function", method)
+                .startSpan();
+        Object result = null;
+        try (Scope ignored = span.makeCurrent()) {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR, e.getClass().getSimpleName());
+            throw e;
+        } finally {
+            if (span.isRecording()) {
+                if ("application".equals(layer)) {
+                    span.setAttribute("app.use_case", type + "." + method);
+                }
+                long userId = CallAttributes.userId(joinPoint.getArgs(), result);
+                if (userId != 0) {
+                    span.setAttribute("user.id", userId);
+                }
+                span.setAttribute("app.rows", CallAttributes.rows(result));
+            }
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.example.infrastructure.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 为每条JDBC语句创建CLIENT span的数据源包装
+ * 只在当前span正在记录时才创建，没有trace或未被采样的请求只多一次判断；
+ * 查询span在ResultSet或Statement关闭时结束，并记录读取的行数
+ */
+public class TracingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private static final int MAX_STATEMENT_LENGTH = 1_000;
+    private static final Pattern TABLE = Pattern.compile(
+            "\\b(?:from|into|update|table)\\s+([A-Za-z_][A-Za-z0-9_.]*)", Pattern.CASE_INSENSITIVE);
+
+    private final Tracer tracer;
+    private volatile String dbSystem;
+
+    public TracingDataSource(DataSource targetDataSource, Tracer tracer) {
+        super(targetDataSource);
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    /**
+     * 被包装的连接池随之关闭，保持原数据源bean的销毁行为
+     */
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Connection wrap(Connection connection) throws SQLException {
+        if (dbSystem == null) {
+            dbSystem = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+        }
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{ConnectionProxy.class}, new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "getTargetConnection" -> {
+                    return target;
+                }
+                default -> {
+                }
+            }
+            Object result = TracingDataSource.invoke(target, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> statement((Statement) result, Statement.class, null);
+                case "prepareStatement" -> statement((Statement) result, PreparedStatement.class, (String) args[0]);
+                case "prepareCall" -> statement((Statement) result, CallableStatement.class, (String) args[0]);
+                default -> result;
+            };
+        }
+
+        private Object statement(Statement statement, Class<?> type, String sql) {
+            return Proxy.newProxyInstance(TracingDataSource.class.getClassLoader(),
+                    new Class<?>[]{type}, new StatementHandler(statement, sql));
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+        private String batchSql;
+        private int batchSize;
+        private Span querySpan;
+        private long queryRows;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "addBatch" -> {
+                    batchSize++;
+                    if (args != null && args.length == 1 && batchSql == null) {
+                        batchSql = (String) args[0];
+                    }
+                    return TracingDataSource.invoke(target, method, args);
+                }
+                case "clearBatch" -> {
+                    batchSize = 0;
+                    batchSql = null;
+                    return TracingDataSource.invoke(target, method, args);
+                }
+                case "close" -> {
+                    endQuery();
+                    return TracingDataSource.invoke(target, method, args);
+                }
+                case "executeQuery" -> {
+                    return executeQuery(method, args);
+                }
+                case "execute", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch" -> {
+                    return execute(method, args);
+                }
+                default -> {
+                    return TracingDataSource.invoke(target, method, args);
+                }
+            }
+        }
+
+        private Object executeQuery(Method method, Object[] args) throws Throwable {
+            endQuery();
+            Span span = startSpan(sql(args));
+            if (span == null) {
+                return TracingDataSource.invoke(target, method, args);
+            }
+            ResultSet resultSet;
+            try (Scope ignored = span.makeCurrent()) {
+                resultSet = (ResultSet) TracingDataSource.invoke(target, method, args);
+            } catch (Throwable e) {
+                fail(span, e);
+                span.end();
+                throw e;
+            }
+            querySpan = span;
+            queryRows = 0;
+            return Proxy.newProxyInstance(TracingDataSource.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class}, new ResultSetHandler(resultSet, this));
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            boolean batch = method.getName().endsWith("Batch");
+            Span span = startSpan(batch && batchSql != null ? batchSql : sql(args));
+            if (span == null) {
+                batchSize = batch ? 0 : batchSize;
+                return TracingDataSource.invoke(target, method, args);
+            }
+            try (Scope ignored = span.makeCurrent()) {
+                Object result = TracingDataSource.invoke(target, method, args);
+                if (result instanceof Integer count) {
+                    span.setAttribute("db.rows_affected", count.longValue());
+                } else if (result instanceof Long count) {
+                    span.setAttribute("db.rows_affected", count);
+                } else if (result instanceof int[] counts) {
+                    long total = 0;
+                    for (int count : counts) {
+                        total += Math.max(count, 0);
+                    }
+                    span.setAttribute("db.rows_affected", total);
+                    span.setAttribute("db.batch_size", (long) batchSize);
+                } else if (result instanceof long[] counts) {
+                    long total = 0;
+                    for (long count : counts) {
+                        total += Math.max(count, 0);
+                    }
+                    span.setAttribute("db.rows_affected", total);
+                    span.setAttribute("db.batch_size", (long) batchSize);
+                }
+                return result;
+            } catch (Throwable e) {
+                fail(span, e);
+                throw e;
+            } finally {
+                if (batch) {
+                    batchSize = 0;
+                    batchSql = null;
+                }
+                span.end();
+            }
+        }
+
+        private String sql(Object[] args) {
+            return args != null && args.length > 0 && args[0] instanceof String sql ? sql : preparedSql;
+        }
+
+        void rowRead() {
+            queryRows++;
+        }
+
+        void endQuery() {
+            if (querySpan != null) {
+                querySpan.setAttribute("db.rows", queryRows);
+                querySpan.end();
+                querySpan = null;
+            }
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private final StatementHandler statement;
+
+        ResultSetHandler(ResultSet target, StatementHandler statement) {
+            this.target = target;
+            this.statement = statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = TracingDataSource.invoke(target, method, args);
+            switch (method.getName()) {
+                case "next" -> {
+                    if (Boolean.TRUE.equals(result)) {
+                        statement.rowRead();
+                    }
+                }
+                case "close" -> statement.endQuery();
+                default -> {
+                }
+            }
+            return result;
+        }
+    }
+
+    private Span startSpan(String sql) {
+        if (sql == null || !Span.current().isRecording()) {
+            return null;
+        }
+        String operation = operation(sql);
+        Matcher table = TABLE.matcher(sql);
+        String name = table.find() ? operation + " " + table.group(1).toLowerCase(Locale.ROOT) : operation;
+        return tracer.spanBuilder(name)
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute("app.layer", "jdbc")
+                .setAttribute("db.system", dbSystem)
+                .setAttribute("db.operation", operation)
+                .setAttribute("db.statement", sql.length() > MAX_STATEMENT_LENGTH
+                        ? sql.substring(0, MAX_STATEMENT_LENGTH) : sql)
+                .startSpan();
+    }
+
+    private static String operation(String sql) {
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        return end == 0 ? "SQL" : trimmed.substring(0, end).toUpperCase(Locale.ROOT);
+    }
+
+    private static void fail(Span span, Throwable e) {
+        span.recordException(e);
+        span.setStatus(StatusCode.ERROR, e.getClass().getSimpleName());
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.infrastructure.tracing;
+
+import io.opentelemetry.api.trace.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+
+/**
+ * 为主数据源bean套上JDBC追踪包装
+ * 分片数据源不是容器bean，不在追踪范围内
+ */
+public class TracingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    private final ObjectProvider<Tracer> tracer;
+
+    public TracingDataSourcePostProcessor(ObjectProvider<Tracer> tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource
+                && !(bean instanceof TracingDataSource)) {
+            return new TracingDataSource(dataSource, tracer.getObject());
+        }
+        return bean;
+    }
+}
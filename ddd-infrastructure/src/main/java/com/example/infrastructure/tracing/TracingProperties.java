@@ -0,0 +1,56 @@
+package com.example.infrastructure.tracing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * OpenTelemetry追踪配置
+ */
+@Data
+@ConfigurationProperties(prefix = "app.tracing")
+public class TracingProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * 导出方式：otlp（OTLP/HTTP到collector）| file（每行一个span的JSON文件，便于测试）| none（只创建不导出）
+     */
+    private String exporter = "otlp";
+
+    private String otlpEndpoint = "http://localhost:4318/v1/traces";
+
+    private String filePath = "./traces/spans.jsonl";
+
+    /**
+     * 头部采样率，新trace开始时按traceId决定是否采样，下游沿用上游决定
+     */
+    private double headSamplingRatio = 0.1;
+
+    private TailSampling tailSampling = new TailSampling();
+
+    @Data
+    public static class TailSampling {
+
+        /**
+         * 开启后未被头部采样的trace也会记录，本地根span结束时按结果决定是否导出
+         */
+        private boolean enabled = true;
+
+        /**
+         * 根span耗时达到该值的trace保留
+         */
+        private Duration latencyThreshold = Duration.ofMillis(200);
+
+        /**
+         * 含错误span的trace保留
+         */
+        private boolean keepErrors = true;
+
+        /**
+         * 同时缓冲的trace数上限，超出时丢弃最早的
+         */
+        private int maxBufferedTraces = 10_000;
+    }
+}
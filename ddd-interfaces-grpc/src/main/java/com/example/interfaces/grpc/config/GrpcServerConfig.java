@@ -0,0 +1,33 @@
+package com.example.interfaces.grpc.config;
+
+import com.example.interfaces.grpc.interceptor.ActorServerInterceptor;
+import io.grpc.BindableService;
+import io.grpc.ServerInterceptor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * gRPC服务端配置
+ */
+@Configuration
+@EnableConfigurationProperties(GrpcServerProperties.class)
+@ConditionalOnProperty(prefix = "app.grpc", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class GrpcServerConfig {
+
+    @Bean
+    public ActorServerInterceptor actorServerInterceptor() {
+        return new ActorServerInterceptor();
+    }
+
+    @Bean
+    public GrpcServerLifecycle grpcServerLifecycle(
+            GrpcServerProperties properties,
+            List<BindableService> services,
+            List<ServerInterceptor> interceptors) {
+        return new GrpcServerLifecycle(properties, services, interceptors);
+    }
+}
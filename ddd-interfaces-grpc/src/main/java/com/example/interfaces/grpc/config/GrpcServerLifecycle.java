@@ -0,0 +1,92 @@
+package com.example.interfaces.grpc.config;
+
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.ServerInterceptor;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * gRPC服务端生命周期
+ * 随Spring容器启动和关闭，与REST服务共存于同一进程
+ */
+@Slf4j
+public class GrpcServerLifecycle implements SmartLifecycle {
+
+    private final GrpcServerProperties properties;
+    private final List<BindableService> services;
+    private final List<ServerInterceptor> interceptors;
+    private Server server;
+    private ExecutorService executor;
+
+    public GrpcServerLifecycle(
+            GrpcServerProperties properties,
+            List<BindableService> services,
+            List<ServerInterceptor> interceptors) {
+        this.properties = properties;
+        this.services = services;
+        this.interceptors = interceptors;
+    }
+
+    @Override
+    public synchronized void start() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(properties.getExecutorThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "grpc-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        NettyServerBuilder builder = NettyServerBuilder.forPort(properties.getPort())
+                .executor(executor)
+                .maxConcurrentCallsPerConnection(properties.getMaxConcurrentCallsPerConnection())
+                .flowControlWindow(properties.getFlowControlWindow())
+                .maxInboundMessageSize(properties.getMaxInboundMessageSize());
+        services.forEach(builder::addService);
+        interceptors.forEach(builder::intercept);
+        try {
+            server = builder.build().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("gRPC服务启动失败", e);
+        }
+        log.info("gRPC server started on port {}", server.getPort());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(10, TimeUnit.SECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        executor.shutdownNow();
+        server = null;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * 实际监听端口，配置为0时由系统分配
+     */
+    public synchronized int getPort() {
+        return server != null ? server.getPort() : -1;
+    }
+}
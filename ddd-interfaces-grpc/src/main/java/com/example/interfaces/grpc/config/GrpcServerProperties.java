@@ -0,0 +1,36 @@
+package com.example.interfaces.grpc.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * gRPC服务端配置
+ */
+@Data
+@ConfigurationProperties(prefix = "app.grpc")
+public class GrpcServerProperties {
+
+    private boolean enabled = true;
+
+    private int port = 9090;
+
+    /**
+     * 单个HTTP/2连接上允许的最大并发流
+     */
+    private int maxConcurrentCallsPerConnection = 100;
+
+    /**
+     * HTTP/2流控窗口（字节）
+     */
+    private int flowControlWindow = 1024 * 1024;
+
+    /**
+     * 最大入站消息大小（字节）
+     */
+    private int maxInboundMessageSize = 4 * 1024 * 1024;
+
+    /**
+     * 处理调用的工作线程数
+     */
+    private int executorThreads = 16;
+}
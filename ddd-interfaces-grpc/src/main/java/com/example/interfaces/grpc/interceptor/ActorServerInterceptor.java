@@ -0,0 +1,78 @@
+package com.example.interfaces.grpc.interceptor;
+
+import com.example.application.audit.ActorContext;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+
+import java.util.function.Supplier;
+
+/**
+ * 从x-actor元数据读取操作人，未提供时视为匿名
+ * gRPC在不同线程上回调同一调用，每次回调前设置、回调后清除操作人上下文
+ */
+public class ActorServerInterceptor implements ServerInterceptor {
+
+    static final Metadata.Key<String> ACTOR_KEY = Metadata.Key.of("x-actor", Metadata.ASCII_STRING_MARSHALLER);
+
+    static final String ANONYMOUS = "anonymous";
+
+    private static final int MAX_ACTOR_LENGTH = 255;
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+            ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+        String actor = headers.get(ACTOR_KEY);
+        if (actor == null || actor.isBlank()) {
+            actor = ANONYMOUS;
+        } else if (actor.length() > MAX_ACTOR_LENGTH) {
+            actor = actor.substring(0, MAX_ACTOR_LENGTH);
+        }
+        String resolved = actor;
+        ServerCall.Listener<ReqT> delegate = withActor(resolved, () -> next.startCall(call, headers));
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(delegate) {
+            @Override
+            public void onMessage(ReqT message) {
+                withActor(resolved, () -> super.onMessage(message));
+            }
+
+            @Override
+            public void onHalfClose() {
+                withActor(resolved, super::onHalfClose);
+            }
+
+            @Override
+            public void onCancel() {
+                withActor(resolved, super::onCancel);
+            }
+
+            @Override
+            public void onComplete() {
+                withActor(resolved, super::onComplete);
+            }
+
+            @Override
+            public void onReady() {
+                withActor(resolved, super::onReady);
+            }
+        };
+    }
+
+    private static void withActor(String actor, Runnable callback) {
+        withActor(actor, () -> {
+            callback.run();
+            return null;
+        });
+    }
+
+    private static <T> T withActor(String actor, Supplier<T> callback) {
+        ActorContext.setActor(actor);
+        try {
+            return callback.get();
+        } finally {
+            ActorContext.clear();
+        }
+    }
+}
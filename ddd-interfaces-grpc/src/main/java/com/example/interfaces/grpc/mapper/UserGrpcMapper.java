@@ -0,0 +1,56 @@
+package com.example.interfaces.grpc.mapper;
+
+import com.example.application.command.CreateUserCommand;
+import com.example.application.command.UpdateUserCommand;
+import com.example.application.dto.UserDTO;
+import com.example.interfaces.grpc.proto.CreateUserRequest;
+import com.example.interfaces.grpc.proto.UpdateUserRequest;
+import com.example.interfaces.grpc.proto.User;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * gRPC消息与应用层对象之间的转换
+ */
+public final class UserGrpcMapper {
+
+    private UserGrpcMapper() {
+    }
+
+    public static User toMessage(UserDTO dto) {
+        User.Builder builder = User.newBuilder()
+                .setId(dto.getId())
+                .setCreatedAt(toEpochMillis(dto.getCreatedAt()))
+                .setUpdatedAt(toEpochMillis(dto.getUpdatedAt()));
+        if (dto.getUsername() != null) {
+            builder.setUsername(dto.getUsername());
+        }
+        if (dto.getEmail() != null) {
+            builder.setEmail(dto.getEmail());
+        }
+        if (dto.getStatus() != null) {
+            builder.setStatus(dto.getStatus());
+        }
+        return builder.build();
+    }
+
+    public static CreateUserCommand toCommand(CreateUserRequest request) {
+        return new CreateUserCommand(
+                emptyToNull(request.getUsername()),
+                emptyToNull(request.getEmail()),
+                emptyToNull(request.getPassword()));
+    }
+
+    public static UpdateUserCommand toCommand(UpdateUserRequest request) {
+        return new UpdateUserCommand(request.getId(), emptyToNull(request.getEmail()));
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.interfaces.grpc.service;
+
+import com.example.application.command.CreateUserCommand;
+import com.example.application.command.UpdateUserCommand;
+import com.example.application.dto.UserDTO;
+import com.example.application.service.UniqueConstraintMessages;
+import com.example.application.service.UserApplicationService;
+import com.example.interfaces.grpc.mapper.UserGrpcMapper;
+import com.example.interfaces.grpc.proto.BatchGetUserResponse;
+import com.example.interfaces.grpc.proto.CreateUserRequest;
+import com.example.interfaces.grpc.proto.GetUserRequest;
+import com.example.interfaces.grpc.proto.ListUsersRequest;
+import com.example.interfaces.grpc.proto.UpdateUserRequest;
+import com.example.interfaces.grpc.proto.User;
+import com.example.interfaces.grpc.proto.UserServiceGrpc;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 用户gRPC服务
+ * 将应用服务的用例暴露给内部调用方，流式接口遵循HTTP/2流控
+ */
+@Slf4j
+@Component
+public class UserGrpcService extends UserServiceGrpc.UserServiceImplBase {
+
+    private static final int PAGE_SIZE = 100;
+
+    private final UserApplicationService userApplicationService;
+    private final Validator validator;
+
+    public UserGrpcService(UserApplicationService userApplicationService, Validator validator) {
+        this.userApplicationService = userApplicationService;
+        this.validator = validator;
+    }
+
+    @Override
+    public void getUser(GetUserRequest request, StreamObserver<User> responseObserver) {
+        unary(responseObserver, () -> userApplicationService.getUserById(request.getId()));
+    }
+
+    @Override
+    public void createUser(CreateUserRequest request, StreamObserver<User> responseObserver) {
+        unary(responseObserver, () -> {
+            CreateUserCommand command = UserGrpcMapper.toCommand(request);
+            validate(command);
+            return userApplicationService.createUser(command);
+        });
+    }
+
+    @Override
+    public void updateUser(UpdateUserRequest request, StreamObserver<User> responseObserver) {
+        unary(responseObserver, () -> {
+            UpdateUserCommand command = UserGrpcMapper.toCommand(request);
+            validate(command);
+            return userApplicationService.updateUser(command);
+        });
+    }
+
+    /**
+     * 仅在传输层可写时推送，客户端消费慢时暂停，由onReady回调继续；
+     * 按ID游标逐页从仓储读取，内存中只保留当前一页
+     */
+    @Override
+    public void listUsers(ListUsersRequest request, StreamObserver<User> responseObserver) {
+        ServerCallStreamObserver<User> observer = (ServerCallStreamObserver<User>) responseObserver;
+        UserPager pager = new UserPager();
+        AtomicBoolean completed = new AtomicBoolean();
+        observer.setOnCancelHandler(() -> completed.set(true));
+        Runnable drain = () -> {
+            synchronized (pager) {
+                try {
+                    while (observer.isReady() && !completed.get() && pager.hasNext()) {
+                        observer.onNext(UserGrpcMapper.toMessage(pager.next()));
+                    }
+                } catch (RuntimeException e) {
+                    if (completed.compareAndSet(false, true)) {
+                        observer.onError(toStatus(e));
+                    }
+                    return;
+                }
+                if (pager.exhausted() && completed.compareAndSet(false, true)) {
+                    observer.onCompleted();
+                }
+            }
+        };
+        observer.setOnReadyHandler(drain);
+        drain.run();
+    }
+
+    /**
+     * 手动入站流控：处理完一个请求且出站可写时才向客户端请求下一个
+     */
+    @Override
+    public StreamObserver<GetUserRequest> batchGetUsers(StreamObserver<BatchGetUserResponse> responseObserver) {
+        ServerCallStreamObserver<BatchGetUserResponse> observer =
+                (ServerCallStreamObserver<BatchGetUserResponse>) responseObserver;
+        observer.disableAutoRequest();
+        AtomicBoolean wasReady = new AtomicBoolean();
+        observer.setOnReadyHandler(() -> {
+            if (observer.isReady() && wasReady.compareAndSet(false, true)) {
+                observer.request(1);
+            }
+        });
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(GetUserRequest request) {
+                observer.onNext(lookup(request.getId()));
+                if (observer.isReady()) {
+                    observer.request(1);
+                } else {
+                    wasReady.set(false);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                log.debug("BatchGetUsers cancelled by client", t);
+            }
+
+            @Override
+            public void onCompleted() {
+                observer.onCompleted();
+            }
+        };
+    }
+
+    private BatchGetUserResponse lookup(long id) {
+        BatchGetUserResponse.Builder builder = BatchGetUserResponse.newBuilder().setId(id);
+        try {
+            return builder.setUser(UserGrpcMapper.toMessage(userApplicationService.getUserById(id))).build();
+        } catch (RuntimeException e) {
+            // 单个ID失败只影响该条结果，不中断整个批量流
+            return builder.setError(toStatus(e).getStatus().getDescription()).build();
+        }
+    }
+
+    private void unary(StreamObserver<User> responseObserver, Supplier<UserDTO> useCase) {
+        User user;
+        try {
+            user = UserGrpcMapper.toMessage(useCase.get());
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e));
+            return;
+        }
+        responseObserver.onNext(user);
+        responseObserver.onCompleted();
+    }
+
+    private void validate(Object command) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(command);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .collect(Collectors.joining(", "));
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    /**
+     * 按ID游标翻页的用户迭代器，当前页取完时才读取下一页
+     */
+    private final class UserPager {
+
+        private Iterator<UserDTO> page = Collections.emptyIterator();
+        private Long lastId;
+        private boolean lastPage;
+
+        boolean hasNext() {
+            if (!page.hasNext() && !lastPage) {
+                List<UserDTO> users = userApplicationService.getUsersPage(lastId, PAGE_SIZE);
+                lastPage = users.size() < PAGE_SIZE;
+                page = users.iterator();
+            }
+            return page.hasNext();
+        }
+
+        UserDTO next() {
+            UserDTO user = page.next();
+            lastId = user.getId();
+            return user;
+        }
+
+        boolean exhausted() {
+            return lastPage && !page.hasNext();
+        }
+    }
+
+    private static StatusRuntimeException toStatus(RuntimeException e) {
+        if (e instanceof IllegalArgumentException) {
+            return Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException();
+        }
+        if (e instanceof DataIntegrityViolationException conflict) {
+            return UniqueConstraintMessages.resolve(conflict)
+                    .map(message -> Status.ALREADY_EXISTS.withDescription(message))
+                    .orElseGet(() -> Status.INVALID_ARGUMENT.withDescription("数据不符合约束"))
+                    .asRuntimeException();
+        }
+        if (e instanceof OptimisticLockingFailureException) {
+            return Status.ABORTED.withDescription("用户已被并发修改，请重试").asRuntimeException();
+        }
+        log.error("gRPC call failed", e);
+        return Status.INTERNAL.withDescription("服务器内部错误").asRuntimeException();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.interfaces.rest.config;
+
+import com.example.interfaces.rest.limit.ConcurrencyLimitFilter;
+import com.example.interfaces.rest.limit.ConcurrencyLimitProperties;
+import com.example.interfaces.rest.limit.ConcurrencyLimiterRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * 自适应并发限制配置
+ */
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(prefix = "app.concurrency-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public ConcurrencyLimiterRegistry concurrencyLimiterRegistry(
+            ConcurrencyLimitProperties properties,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ConcurrencyLimiterRegistry(properties, meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            ConcurrencyLimiterRegistry concurrencyLimiterRegistry,
+            ConcurrencyLimitProperties properties,
+            ObjectMapper objectMapper) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(concurrencyLimiterRegistry, properties, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        // 尽早拒绝，避免被拒绝的请求消耗后续过滤器
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
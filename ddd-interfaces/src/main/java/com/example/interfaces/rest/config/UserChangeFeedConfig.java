@@ -0,0 +1,30 @@
+package com.example.interfaces.rest.config;
+
+import com.example.interfaces.rest.mapper.UserRestMapper;
+import com.example.interfaces.rest.sse.UserChangeFeed;
+import com.example.interfaces.rest.sse.UserChangeFeedProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 用户变更推送配置
+ */
+@Configuration
+@EnableConfigurationProperties(UserChangeFeedProperties.class)
+@ConditionalOnProperty(prefix = "app.change-feed", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class UserChangeFeedConfig {
+
+    @Bean
+    public UserChangeFeed userChangeFeed(
+            UserChangeFeedProperties properties,
+            UserRestMapper userRestMapper,
+            ObjectMapper objectMapper,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new UserChangeFeed(properties, userRestMapper, objectMapper, meterRegistry.getIfAvailable());
+    }
+}
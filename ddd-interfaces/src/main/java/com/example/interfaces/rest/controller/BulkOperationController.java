@@ -0,0 +1,75 @@
+package com.example.interfaces.rest.controller;
+
+import com.example.application.dto.BulkOperationDTO;
+import com.example.application.service.BulkUserOperationService;
+import com.example.interfaces.rest.dto.BulkOperationResponse;
+import com.example.interfaces.rest.dto.BulkStatusTransitionRequest;
+import com.example.interfaces.rest.mapper.BulkOperationRestMapper;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 用户批量操作控制器
+ * 任务异步执行，提交后通过任务ID查询进度
+ */
+@RestController
+@RequestMapping("/api/users/bulk")
+public class BulkOperationController {
+    
+    private final BulkUserOperationService bulkUserOperationService;
+    private final BulkOperationRestMapper bulkOperationRestMapper;
+    
+    public BulkOperationController(
+            BulkUserOperationService bulkUserOperationService,
+            BulkOperationRestMapper bulkOperationRestMapper) {
+        this.bulkUserOperationService = bulkUserOperationService;
+        this.bulkOperationRestMapper = bulkOperationRestMapper;
+    }
+    
+    /**
+     * 提交批量状态转换
+     */
+    @PostMapping("/status-transitions")
+    public ResponseEntity<BulkOperationResponse> startStatusTransition(
+            @Valid @RequestBody BulkStatusTransitionRequest request) {
+        BulkOperationDTO operation = bulkUserOperationService.startStatusTransition(
+                bulkOperationRestMapper.toCommand(request));
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/users/bulk/operations/" + operation.getId()))
+                .body(bulkOperationRestMapper.toResponse(operation));
+    }
+    
+    /**
+     * 查询任务进度
+     */
+    @GetMapping("/operations/{id}")
+    public ResponseEntity<BulkOperationResponse> getOperation(@PathVariable Long id) {
+        BulkOperationDTO operation = bulkUserOperationService.getOperation(id);
+        return ResponseEntity.ok(bulkOperationRestMapper.toResponse(operation));
+    }
+    
+    /**
+     * 查询最近的任务
+     */
+    @GetMapping("/operations")
+    public ResponseEntity<List<BulkOperationResponse>> getRecentOperations() {
+        List<BulkOperationResponse> responses = bulkUserOperationService.getRecentOperations().stream()
+                .map(bulkOperationRestMapper::toResponse)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(responses);
+    }
+    
+    /**
+     * 取消任务
+     */
+    @PostMapping("/operations/{id}/cancel")
+    public ResponseEntity<BulkOperationResponse> cancelOperation(@PathVariable Long id) {
+        BulkOperationDTO operation = bulkUserOperationService.cancelOperation(id);
+        return ResponseEntity.ok(bulkOperationRestMapper.toResponse(operation));
+    }
+}
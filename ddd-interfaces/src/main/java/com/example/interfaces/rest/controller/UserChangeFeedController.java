@@ -0,0 +1,54 @@
+package com.example.interfaces.rest.controller;
+
+import com.example.interfaces.rest.sse.UserChangeFeed;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 用户变更推送控制器
+ * 以SSE推送创建、更新、状态变更和删除事件，替代轮询全量列表
+ */
+@RestController
+@RequestMapping("/api/users")
+public class UserChangeFeedController {
+    
+    private final ObjectProvider<UserChangeFeed> userChangeFeed;
+    
+    public UserChangeFeedController(ObjectProvider<UserChangeFeed> userChangeFeed) {
+        this.userChangeFeed = userChangeFeed;
+    }
+    
+    /**
+     * 订阅用户变更
+     * 断线重连时浏览器自动携带Last-Event-ID请求头，其他客户端也可通过lastEventId参数续传
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribe(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+        UserChangeFeed feed = userChangeFeed.getIfAvailable();
+        if (feed == null) {
+            return ResponseEntity.notFound().build();
+        }
+        String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+        SseEmitter emitter = feed.subscribe(lastEventId);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+}
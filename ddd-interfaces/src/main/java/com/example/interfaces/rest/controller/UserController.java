@@ -3,10 +3,12 @@ package com.example.interfaces.rest.controller;
 import com.example.application.command.CreateUserCommand;
 import com.example.application.command.UpdateUserCommand;
 import com.example.application.dto.UserDTO;
+import com.example.application.dto.UsernameAvailabilityDTO;
 import com.example.application.service.UserApplicationService;
 import com.example.interfaces.rest.dto.CreateUserRequest;
 import com.example.interfaces.rest.dto.UpdateUserRequest;
 import com.example.interfaces.rest.dto.UserResponse;
+import com.example.interfaces.rest.dto.UsernameAvailabilityResponse;
 import com.example.interfaces.rest.mapper.UserRestMapper;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -67,6 +69,37 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * 根据ID批量查询用户
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<List<UserResponse>> getUsersByIds(@RequestParam List<Long> ids) {
+        List<UserDTO> userDTOs = userApplicationService.getUsersByIds(ids);
+        List<UserResponse> responses = userDTOs.stream()
+                .map(userRestMapper::toResponse)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(responses);
+    }
+    
+    /**
+     * 检查用户名是否可用
+     */
+    @GetMapping("/username-availability")
+    public ResponseEntity<UsernameAvailabilityResponse> checkUsernameAvailability(@RequestParam String username) {
+        UsernameAvailabilityDTO availability = userApplicationService.checkUsernameAvailability(username);
+        return ResponseEntity.ok(userRestMapper.toResponse(availability));
+    }
+    
+    /**
+     * 用户名前缀补全
+     */
+    @GetMapping("/username-suggestions")
+    public ResponseEntity<List<String>> autocompleteUsernames(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(userApplicationService.autocompleteUsernames(prefix, limit));
+    }
+    
     /**
      * 查询所有用户
      */
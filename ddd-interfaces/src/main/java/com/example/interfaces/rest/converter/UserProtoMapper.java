@@ -0,0 +1,123 @@
+package com.example.interfaces.rest.converter;
+
+import com.example.interfaces.rest.dto.CreateUserRequest;
+import com.example.interfaces.rest.dto.UserResponse;
+import com.example.interfaces.rest.exception.ErrorResponse;
+import com.example.interfaces.rest.proto.CreateUserMessage;
+import com.example.interfaces.rest.proto.ErrorMessage;
+import com.example.interfaces.rest.proto.UserListPage;
+import com.example.interfaces.rest.proto.UserMessage;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST DTO与Protobuf消息之间的转换
+ */
+public final class UserProtoMapper {
+
+    private UserProtoMapper() {
+    }
+
+    public static UserMessage toMessage(UserResponse response) {
+        UserMessage.Builder builder = UserMessage.newBuilder()
+                .setCreatedAt(toEpochMillis(response.getCreatedAt()))
+                .setUpdatedAt(toEpochMillis(response.getUpdatedAt()));
+        if (response.getId() != null) {
+            builder.setId(response.getId());
+        }
+        if (response.getUsername() != null) {
+            builder.setUsername(response.getUsername());
+        }
+        if (response.getEmail() != null) {
+            builder.setEmail(response.getEmail());
+        }
+        if (response.getStatus() != null) {
+            builder.setStatus(response.getStatus());
+        }
+        return builder.build();
+    }
+
+    public static UserResponse toResponse(UserMessage message) {
+        return UserResponse.builder()
+                .id(message.getId())
+                .username(message.getUsername())
+                .email(message.getEmail())
+                .status(message.getStatus())
+                .createdAt(toLocalDateTime(message.getCreatedAt()))
+                .updatedAt(toLocalDateTime(message.getUpdatedAt()))
+                .build();
+    }
+
+    public static UserListPage toPage(List<UserResponse> responses) {
+        UserListPage.Builder builder = UserListPage.newBuilder().setTotal(responses.size());
+        for (UserResponse response : responses) {
+            builder.addUsers(toMessage(response));
+        }
+        return builder.build();
+    }
+
+    public static List<UserResponse> toResponses(UserListPage page) {
+        List<UserResponse> responses = new ArrayList<>(page.getUsersCount());
+        for (UserMessage message : page.getUsersList()) {
+            responses.add(toResponse(message));
+        }
+        return responses;
+    }
+
+    public static CreateUserMessage toMessage(CreateUserRequest request) {
+        CreateUserMessage.Builder builder = CreateUserMessage.newBuilder();
+        if (request.getUsername() != null) {
+            builder.setUsername(request.getUsername());
+        }
+        if (request.getEmail() != null) {
+            builder.setEmail(request.getEmail());
+        }
+        if (request.getPassword() != null) {
+            builder.setPassword(request.getPassword());
+        }
+        return builder.build();
+    }
+
+    public static CreateUserRequest toRequest(CreateUserMessage message) {
+        return new CreateUserRequest(
+                emptyToNull(message.getUsername()),
+                emptyToNull(message.getEmail()),
+                emptyToNull(message.getPassword()));
+    }
+
+    public static ErrorMessage toMessage(ErrorResponse response) {
+        ErrorMessage.Builder builder = ErrorMessage.newBuilder().setStatus(response.getStatus());
+        if (response.getMessage() != null) {
+            builder.setMessage(response.getMessage());
+        }
+        if (response.getErrors() != null) {
+            builder.putAllErrors(response.getErrors());
+        }
+        return builder.build();
+    }
+
+    public static ErrorResponse toResponse(ErrorMessage message) {
+        return ErrorResponse.builder()
+                .status(message.getStatus())
+                .message(emptyToNull(message.getMessage()))
+                .errors(message.getErrorsCount() > 0 ? Map.copyOf(message.getErrorsMap()) : null)
+                .build();
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return epochMillis != 0L ? LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC) : null;
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.interfaces.rest.converter;
+
+import com.example.interfaces.rest.dto.CreateUserRequest;
+import com.example.interfaces.rest.dto.UserResponse;
+import com.example.interfaces.rest.exception.ErrorResponse;
+import com.example.interfaces.rest.proto.CreateUserMessage;
+import com.example.interfaces.rest.proto.ErrorMessage;
+import com.example.interfaces.rest.proto.UserListPage;
+import com.example.interfaces.rest.proto.UserMessage;
+import com.google.protobuf.Message;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * 用户接口的Protobuf消息转换器
+ * 以application/x-protobuf协商时，将UserResponse、用户列表和CreateUserRequest与Protobuf消息互转；
+ * 错误响应转为ErrorMessage，否则以Protobuf协商的客户端收不到错误详情
+ */
+public class UserProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+    public UserProtobufHttpMessageConverter() {
+        super(PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return UserResponse.class == clazz || CreateUserRequest.class == clazz || ErrorResponse.class == clazz
+                || List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return (type == CreateUserRequest.class || type == UserResponse.class || type == ErrorResponse.class
+                || isUserList(type))
+                && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        Type target = type != null ? type : clazz;
+        return (target == UserResponse.class || target == CreateUserRequest.class || target == ErrorResponse.class
+                || isUserList(target))
+                && canWrite(mediaType);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        if (type == CreateUserRequest.class) {
+            return UserProtoMapper.toRequest(CreateUserMessage.parseFrom(inputMessage.getBody()));
+        }
+        if (type == UserResponse.class) {
+            return UserProtoMapper.toResponse(UserMessage.parseFrom(inputMessage.getBody()));
+        }
+        if (type == ErrorResponse.class) {
+            return UserProtoMapper.toResponse(ErrorMessage.parseFrom(inputMessage.getBody()));
+        }
+        return UserProtoMapper.toResponses(UserListPage.parseFrom(inputMessage.getBody()));
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        return read(clazz, null, inputMessage);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Message message;
+        if (object instanceof UserResponse response) {
+            message = UserProtoMapper.toMessage(response);
+        } else if (object instanceof CreateUserRequest request) {
+            message = UserProtoMapper.toMessage(request);
+        } else if (object instanceof ErrorResponse error) {
+            message = UserProtoMapper.toMessage(error);
+        } else {
+            message = UserProtoMapper.toPage((List<UserResponse>) object);
+        }
+        outputMessage.getHeaders().setContentLength(message.getSerializedSize());
+        message.writeTo(outputMessage.getBody());
+    }
+
+    private static boolean isUserList(Type type) {
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw
+                && List.class.isAssignableFrom(raw)
+                && parameterized.getActualTypeArguments()[0] == UserResponse.class;
+    }
+}
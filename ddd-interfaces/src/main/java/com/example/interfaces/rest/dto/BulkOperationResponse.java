@@ -0,0 +1,44 @@
+package com.example.interfaces.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 批量操作响应DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOperationResponse {
+    
+    private Long id;
+    
+    private String transition;
+    
+    private String status;
+    
+    private LocalDateTime createdBefore;
+    
+    private LocalDateTime createdAfter;
+    
+    private String usernamePattern;
+    
+    private long upperBoundId;
+    
+    private long cursorId;
+    
+    private long affectedCount;
+    
+    private double progress;
+    
+    private String error;
+    
+    private LocalDateTime createdAt;
+    
+    private LocalDateTime updatedAt;
+}
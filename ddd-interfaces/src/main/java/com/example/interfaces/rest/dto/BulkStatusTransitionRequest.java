@@ -0,0 +1,32 @@
+package com.example.interfaces.rest.dto;
+
+import com.example.domain.model.user.UserStatusTransition;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 批量状态转换请求DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusTransitionRequest {
+    
+    @NotNull(message = "状态转换不能为空")
+    private UserStatusTransition transition;
+    
+    private LocalDateTime createdBefore;
+    
+    private LocalDateTime createdAfter;
+    
+    /**
+     * 用户名通配符，支持 * 和 ?
+     */
+    @Size(max = 50, message = "用户名模式长度不能超过50")
+    private String usernamePattern;
+}
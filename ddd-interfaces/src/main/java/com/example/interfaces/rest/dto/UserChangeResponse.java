@@ -0,0 +1,26 @@
+package com.example.interfaces.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * 用户变更推送DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserChangeResponse {
+    
+    private String type;
+    
+    private Long userId;
+    
+    private UserResponse user;
+    
+    private Instant occurredAt;
+}
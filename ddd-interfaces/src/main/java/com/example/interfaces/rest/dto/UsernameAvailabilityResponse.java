@@ -0,0 +1,24 @@
+package com.example.interfaces.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 用户名可用性响应DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsernameAvailabilityResponse {
+    
+    private String username;
+    
+    private boolean available;
+    
+    private List<String> suggestions;
+}
@@ -1,5 +1,8 @@
 package com.example.interfaces.rest.exception;
 
+import com.example.application.service.UniqueConstraintMessages;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -9,6 +12,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * 全局异常处理器
@@ -25,6 +29,27 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
     
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(DataIntegrityViolationException e) {
+        // 内存校验通过但并发写入触发了数据库唯一约束时按约束名给出冲突提示，非空、超长等其他约束属于请求数据不合法
+        Optional<String> conflict = UniqueConstraintMessages.resolve(e);
+        HttpStatus status = conflict.isPresent() ? HttpStatus.CONFLICT : HttpStatus.BAD_REQUEST;
+        ErrorResponse error = ErrorResponse.builder()
+                .status(status.value())
+                .message(conflict.orElse("数据不符合约束"))
+                .build();
+        return ResponseEntity.status(status).body(error);
+    }
+    
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException e) {
+        ErrorResponse error = ErrorResponse.builder()
+                .status(HttpStatus.CONFLICT.value())
+                .message("用户已被并发修改，请重试")
+                .build();
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+    
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationException(MethodArgumentNotValidException e) {
         Map<String, String> errors = new HashMap<>();
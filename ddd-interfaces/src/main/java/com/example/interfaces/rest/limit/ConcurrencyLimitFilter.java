@@ -0,0 +1,148 @@
+package com.example.interfaces.rest.limit;
+
+import com.example.interfaces.rest.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 自适应并发限制过滤器
+ * 按端点类别获取许可，超出限制时立即返回503和Retry-After，避免请求在容器中排队
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final ConcurrencyLimiterRegistry limiterRegistry;
+    private final ConcurrencyLimitProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(
+            ConcurrencyLimiterRegistry limiterRegistry,
+            ConcurrencyLimitProperties properties,
+            ObjectMapper objectMapper) {
+        this.limiterRegistry = limiterRegistry;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (!path.startsWith("/api/")) {
+            return true;
+        }
+        return properties.getExcludedPaths().stream().anyMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        GradientConcurrencyLimiter limiter = limiterRegistry.get(classify(request));
+        if (limiter == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        GradientConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+        if (permit == null) {
+            reject(response);
+            return;
+        }
+        boolean async = false;
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new PermitReleasingListener(permit, response));
+                async = true;
+            }
+            failed = false;
+        } finally {
+            // 异常逃出过滤器链时响应状态仍是默认的200，容器随后会按500处理，与500一样不计入样本
+            if (!async) {
+                if (failed) {
+                    permit.releaseWithoutSample();
+                } else {
+                    release(permit, response.getStatus());
+                }
+            }
+        }
+    }
+
+    private EndpointClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (properties.getBulkPathSegments().stream().anyMatch(path::contains)) {
+            return EndpointClass.BULK;
+        }
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)) {
+            return EndpointClass.READ;
+        }
+        return EndpointClass.WRITE;
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, properties.getRetryAfter().toSeconds())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        ErrorResponse error = ErrorResponse.builder()
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .message("服务繁忙，请稍后重试")
+                .build();
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    /**
+     * 只有503、504视为过载丢弃；500多为应用缺陷，与负载无关，不计入样本
+     */
+    private static void release(GradientConcurrencyLimiter.Permit permit, int status) {
+        if (status == HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+            permit.releaseWithoutSample();
+            return;
+        }
+        permit.release(status == HttpStatus.SERVICE_UNAVAILABLE.value()
+                || status == HttpStatus.GATEWAY_TIMEOUT.value());
+    }
+
+    private static final class PermitReleasingListener implements AsyncListener {
+
+        private final GradientConcurrencyLimiter.Permit permit;
+        private final HttpServletResponse response;
+
+        private PermitReleasingListener(GradientConcurrencyLimiter.Permit permit, HttpServletResponse response) {
+            this.permit = permit;
+            this.response = response;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(permit, response.getStatus());
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            permit.release(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            permit.releaseWithoutSample();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.interfaces.rest.limit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 自适应并发限制配置
+ */
+@Data
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * 拒绝时返回的Retry-After
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * 路径包含这些片段的请求归为批量类
+     */
+    private List<String> bulkPathSegments = new ArrayList<>(List.of("/bulk", "/export", "/import"));
+
+    /**
+     * 不受限制的路径前缀（如长连接流式接口）
+     */
+    private List<String> excludedPaths = new ArrayList<>();
+
+    /**
+     * 各端点类别的限制参数
+     */
+    private Map<EndpointClass, Limit> limits = new EnumMap<>(Map.of(
+            EndpointClass.READ, new Limit(20, 4, 500),
+            EndpointClass.WRITE, new Limit(10, 2, 200),
+            EndpointClass.BULK, new Limit(2, 1, 8)));
+
+    @Data
+    public static class Limit {
+
+        private int initialLimit;
+
+        private int minLimit;
+
+        private int maxLimit;
+
+        /**
+         * 长期RTT相对短期RTT的容忍倍数，越大越不敏感
+         */
+        private double rttTolerance = 1.5;
+
+        /**
+         * 新旧限制的平滑系数
+         */
+        private double smoothing = 0.2;
+
+        /**
+         * 长期RTT指数平均的样本窗口
+         */
+        private int longWindow = 600;
+
+        /**
+         * 过载失败（503、504、异步超时）时的乘性回退比例
+         */
+        private double backoffRatio = 0.9;
+
+        public Limit() {
+        }
+
+        public Limit(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.interfaces.rest.limit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 端点类别限制器注册表
+ * 为每个类别创建独立的限制器并暴露限制值、在途请求数和拒绝数指标
+ */
+public class ConcurrencyLimiterRegistry {
+
+    private final Map<EndpointClass, GradientConcurrencyLimiter> limiters = new EnumMap<>(EndpointClass.class);
+
+    public ConcurrencyLimiterRegistry(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            ConcurrencyLimitProperties.Limit config = properties.getLimits().get(endpointClass);
+            if (config == null) {
+                continue;
+            }
+            GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(config);
+            limiters.put(endpointClass, limiter);
+            if (meterRegistry != null) {
+                String tag = endpointClass.name().toLowerCase();
+                Gauge.builder("http.server.concurrency.limit", limiter, GradientConcurrencyLimiter::getLimit)
+                        .tag("endpoint", tag)
+                        .register(meterRegistry);
+                Gauge.builder("http.server.concurrency.inflight", limiter, GradientConcurrencyLimiter::getInFlight)
+                        .tag("endpoint", tag)
+                        .register(meterRegistry);
+                FunctionCounter.builder("http.server.concurrency.rejected", limiter, GradientConcurrencyLimiter::getRejected)
+                        .tag("endpoint", tag)
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    /**
+     * 获取类别对应的限制器，未配置时返回null表示不限制
+     */
+    public GradientConcurrencyLimiter get(EndpointClass endpointClass) {
+        return limiters.get(endpointClass);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.interfaces.rest.limit;
+
+/**
+ * 端点类别
+ * 不同类别的接口使用独立的并发限制，避免批量操作挤占在线读写
+ */
+public enum EndpointClass {
+    READ,
+    WRITE,
+    BULK
+}
@@ -0,0 +1,129 @@
+package com.example.interfaces.rest.limit;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 基于梯度的自适应并发限制器
+ * 比较长期RTT与短期RTT估计排队程度：RTT上升时按比例收缩限制，空闲时以sqrt(limit)的排队余量增长；
+ * 请求失败时乘性回退（AIMD）；估计值为不可变快照，样本以CAS方式更新，请求路径上不加锁
+ */
+public class GradientConcurrencyLimiter {
+
+    private static final double SHORT_WINDOW = 10;
+
+    private final ConcurrencyLimitProperties.Limit config;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    private final AtomicReference<Estimate> estimate;
+
+    public GradientConcurrencyLimiter(ConcurrencyLimitProperties.Limit config) {
+        this.config = config;
+        this.estimate = new AtomicReference<>(new Estimate(config.getInitialLimit(), 0, 0));
+    }
+
+    /**
+     * 尝试获取许可
+     * @return 获取成功时返回许可，超出限制时返回null
+     */
+    public Permit tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                rejected.increment();
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(System.nanoTime(), current + 1);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) estimate.get().limit();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    private void onSample(long rttNanos, int inFlightAtStart, boolean dropped) {
+        estimate.updateAndGet(current -> dropped
+                ? current.backOff(config)
+                : current.sample(config, rttNanos, inFlightAtStart));
+    }
+
+    /**
+     * 限制估计值快照
+     */
+    private record Estimate(double limit, double longRtt, double shortRtt) {
+
+        Estimate backOff(ConcurrencyLimitProperties.Limit config) {
+            return new Estimate(Math.max(config.getMinLimit(), limit * config.getBackoffRatio()), longRtt, shortRtt);
+        }
+
+        Estimate sample(ConcurrencyLimitProperties.Limit config, long rttNanos, int inFlightAtStart) {
+            double rtt = rttNanos;
+            double nextLong = longRtt == 0 ? rtt : longRtt;
+            double nextShort = shortRtt == 0 ? rtt : shortRtt;
+            nextShort += (rtt - nextShort) / SHORT_WINDOW;
+            nextLong += (rtt - nextLong) / config.getLongWindow();
+            // 延迟回落后长期RTT仍停在过去的高位，梯度会一直放行增长；加速衰减让基线跟上，避免限制无节制地膨胀
+            if (nextLong / nextShort > 2) {
+                nextLong *= 0.95;
+            }
+            // 应用自身受限（远未用满限制）时不继续增长
+            if (inFlightAtStart < limit / 2) {
+                return new Estimate(limit, nextLong, nextShort);
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, config.getRttTolerance() * nextLong / nextShort));
+            double queueSize = Math.sqrt(limit);
+            double newLimit = limit * gradient + queueSize;
+            newLimit = limit * (1 - config.getSmoothing()) + newLimit * config.getSmoothing();
+            return new Estimate(Math.max(config.getMinLimit(), Math.min(config.getMaxLimit(), newLimit)), nextLong, nextShort);
+        }
+    }
+
+    /**
+     * 并发许可，请求结束时必须释放一次
+     */
+    public final class Permit {
+
+        private final long startNanos;
+        private final int inFlightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(long startNanos, int inFlightAtStart) {
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /**
+         * 释放许可并记录样本
+         * @param dropped 请求是否因过载失败
+         */
+        public void release(boolean dropped) {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            inFlight.decrementAndGet();
+            onSample(System.nanoTime() - startNanos, inFlightAtStart, dropped);
+        }
+
+        /**
+         * 释放许可但不记录样本，用于与负载无关的失败（如应用异常），避免单个缺陷把限制压到最低
+         */
+        public void releaseWithoutSample() {
+            if (released.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.interfaces.rest.mapper;
+
+import com.example.application.bulk.UserCriteria;
+import com.example.application.command.BulkStatusTransitionCommand;
+import com.example.application.dto.BulkOperationDTO;
+import com.example.interfaces.rest.dto.BulkOperationResponse;
+import com.example.interfaces.rest.dto.BulkStatusTransitionRequest;
+import org.mapstruct.Mapper;
+
+/**
+ * 批量操作REST层对象映射器
+ */
+@Mapper(componentModel = "spring")
+public interface BulkOperationRestMapper {
+    
+    default BulkStatusTransitionCommand toCommand(BulkStatusTransitionRequest request) {
+        UserCriteria criteria = new UserCriteria(
+                request.getCreatedBefore(), request.getCreatedAfter(), request.getUsernamePattern());
+        return new BulkStatusTransitionCommand(request.getTransition(), criteria);
+    }
+    
+    BulkOperationResponse toResponse(BulkOperationDTO dto);
+}
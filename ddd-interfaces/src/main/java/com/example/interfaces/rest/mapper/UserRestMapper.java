@@ -2,8 +2,10 @@ package com.example.interfaces.rest.mapper;
 
 import com.example.application.command.CreateUserCommand;
 import com.example.application.dto.UserDTO;
+import com.example.application.dto.UsernameAvailabilityDTO;
 import com.example.interfaces.rest.dto.CreateUserRequest;
 import com.example.interfaces.rest.dto.UserResponse;
+import com.example.interfaces.rest.dto.UsernameAvailabilityResponse;
 import org.mapstruct.Mapper;
 
 /**
@@ -15,5 +17,7 @@ public interface UserRestMapper {
     CreateUserCommand toCreateCommand(CreateUserRequest request);
     
     UserResponse toResponse(UserDTO dto);
+    
+    UsernameAvailabilityResponse toResponse(UsernameAvailabilityDTO dto);
 }
 
@@ -0,0 +1,15 @@
+package com.example.interfaces.rest.sse;
+
+/**
+ * 已编号的变更事件，data为预先序列化好的JSON，所有订阅者共享
+ */
+record ChangeFeedEntry(long id, String name, String data) {
+
+    static final ChangeFeedEntry HEARTBEAT = new ChangeFeedEntry(0, "heartbeat", null);
+
+    static final ChangeFeedEntry RESET = new ChangeFeedEntry(0, "reset", "{}");
+
+    boolean isHeartbeat() {
+        return this == HEARTBEAT;
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.interfaces.rest.sse;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 单个SSE连接的有界发送队列
+ * 同一时刻最多只有一个发送线程处理该订阅者，保证事件按序发送
+ */
+final class ChangeFeedSubscriber {
+
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final ArrayDeque<ChangeFeedEntry> queue = new ArrayDeque<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicBoolean stalled = new AtomicBoolean();
+    private final AtomicBoolean completed = new AtomicBoolean();
+    private volatile long lastSentAt = System.nanoTime();
+    private long sendStartedAt;
+
+    ChangeFeedSubscriber(SseEmitter emitter, int capacity) {
+        this.emitter = emitter;
+        this.capacity = capacity;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    /**
+     * 入队实时事件，缓冲区已满时返回false
+     */
+    synchronized boolean offer(ChangeFeedEntry entry) {
+        if (queue.size() >= capacity) {
+            return false;
+        }
+        queue.addLast(entry);
+        return true;
+    }
+
+    /**
+     * 丢弃最旧的事件后入队
+     */
+    synchronized void dropOldestAndOffer(ChangeFeedEntry entry) {
+        queue.pollFirst();
+        queue.addLast(entry);
+    }
+
+    /**
+     * 入队回放事件，回放事件引用回放缓冲区中的对象，不受容量限制
+     */
+    synchronized void offerReplay(ChangeFeedEntry entry) {
+        queue.addLast(entry);
+    }
+
+    /**
+     * 仅在没有待发送事件时入队心跳
+     */
+    synchronized boolean offerHeartbeat() {
+        if (!queue.isEmpty()) {
+            return false;
+        }
+        queue.addLast(ChangeFeedEntry.HEARTBEAT);
+        return true;
+    }
+
+    synchronized ChangeFeedEntry poll() {
+        return queue.pollFirst();
+    }
+
+    synchronized boolean hasPending() {
+        return !queue.isEmpty();
+    }
+
+    boolean tryMarkScheduled() {
+        return scheduled.compareAndSet(false, true);
+    }
+
+    void clearScheduled() {
+        scheduled.set(false);
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * 标记关闭，仅第一次调用返回true
+     */
+    boolean markClosed() {
+        return closed.compareAndSet(false, true);
+    }
+
+    /**
+     * 标记emitter已结束，仅第一次调用返回true
+     */
+    boolean markCompleted() {
+        return completed.compareAndSet(false, true);
+    }
+
+    synchronized void beginSend() {
+        sendStartedAt = System.nanoTime();
+    }
+
+    /**
+     * 发送结束，无论成功与否
+     */
+    synchronized void endSend() {
+        sendStartedAt = 0;
+    }
+
+    synchronized boolean isSending() {
+        return sendStartedAt != 0;
+    }
+
+    void markSent() {
+        lastSentAt = System.nanoTime();
+    }
+
+    /**
+     * 进行中的发送已阻塞超过timeoutNanos时标记为卡住，仅第一次返回true；
+     * 与endSend互斥，标记成功时发送线程必然尚未结束发送
+     */
+    synchronized boolean markStalledIfSendingLongerThan(long timeoutNanos) {
+        if (sendStartedAt == 0 || System.nanoTime() - sendStartedAt <= timeoutNanos) {
+            return false;
+        }
+        return stalled.compareAndSet(false, true);
+    }
+
+    /**
+     * 清除卡住标记，仅第一次调用返回true
+     */
+    boolean clearStalled() {
+        return stalled.compareAndSet(true, false);
+    }
+
+    long idleNanos() {
+        return System.nanoTime() - lastSentAt;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.interfaces.rest.sse;
+
+/**
+ * 订阅者缓冲区满时的处理策略
+ */
+public enum SlowConsumerPolicy {
+
+    /**
+     * 断开连接，客户端携带Last-Event-ID重连后从回放缓冲区补齐
+     */
+    DISCONNECT,
+
+    /**
+     * 丢弃最旧的未发送事件，连接保持，客户端会看到事件ID不连续
+     */
+    DROP_OLDEST
+}
@@ -0,0 +1,338 @@
+package com.example.interfaces.rest.sse;
+
+import com.example.application.event.UserChangedEvent;
+import com.example.interfaces.rest.dto.UserChangeResponse;
+import com.example.interfaces.rest.mapper.UserRestMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 用户变更推送中心
+ * 事务提交后为事件分配递增ID并写入环形回放缓冲区，再分发到各订阅者的有界队列；
+ * 连接基于Servlet异步，由少量共享发送线程按需排空队列，空闲连接不占用线程；
+ * 发送阻塞超过send-timeout的订阅者被断开，阻塞期间补充一个发送线程，避免一个卡住的客户端拖慢所有订阅者。
+ * 事件ID形如 {启动纪元}-{序号}，纪元不一致说明服务已重启，客户端需要全量重新同步。
+ */
+public class UserChangeFeed implements DisposableBean {
+
+    private final UserChangeFeedProperties properties;
+    private final UserRestMapper userRestMapper;
+    private final ObjectMapper objectMapper;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Object lock = new Object();
+    private final ChangeFeedEntry[] replayBuffer;
+    private long nextId = 1;
+
+    private final Set<ChangeFeedSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    /**
+     * 尚未结束的连接，包括已断开但发送线程仍未退出的连接
+     */
+    private final Set<ChangeFeedSubscriber> connections = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor dispatcher;
+    private final ScheduledExecutorService heartbeat;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong disconnected = new AtomicLong();
+    private final AtomicLong stalled = new AtomicLong();
+
+    public UserChangeFeed(
+            UserChangeFeedProperties properties,
+            UserRestMapper userRestMapper,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.userRestMapper = userRestMapper;
+        this.objectMapper = objectMapper;
+        this.replayBuffer = new ChangeFeedEntry[Math.max(1, properties.getReplayBufferSize())];
+        AtomicInteger counter = new AtomicInteger();
+        this.dispatcher = new ThreadPoolExecutor(
+                properties.getDispatchThreads(), properties.getDispatchThreads(),
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "user-change-feed-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-change-feed-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getHeartbeatInterval().toMillis();
+        heartbeat.scheduleWithFixedDelay(this::sendHeartbeats, interval, interval, TimeUnit.MILLISECONDS);
+        long watchdogInterval = Math.max(100, properties.getSendTimeout().toMillis() / 2);
+        heartbeat.scheduleWithFixedDelay(
+                this::evictStalledSubscribers, watchdogInterval, watchdogInterval, TimeUnit.MILLISECONDS);
+        if (meterRegistry != null) {
+            Gauge.builder("user.change_feed.subscribers", subscribers, Set::size)
+                    .register(meterRegistry);
+            FunctionCounter.builder("user.change_feed.published", published, AtomicLong::get)
+                    .register(meterRegistry);
+            FunctionCounter.builder("user.change_feed.dropped", dropped, AtomicLong::get)
+                    .register(meterRegistry);
+            FunctionCounter.builder("user.change_feed.disconnected", disconnected, AtomicLong::get)
+                    .tag("reason", "slow_consumer")
+                    .register(meterRegistry);
+            FunctionCounter.builder("user.change_feed.disconnected", stalled, AtomicLong::get)
+                    .tag("reason", "send_timeout")
+                    .register(meterRegistry);
+            Gauge.builder("user.change_feed.dispatch_threads", dispatcher, ThreadPoolExecutor::getPoolSize)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 订阅变更，lastEventId不为空时先回放其后的事件
+     * 超出最大订阅者数时返回null
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        ChangeFeedSubscriber subscriber = new ChangeFeedSubscriber(emitter, properties.getSubscriberBufferSize());
+        emitter.onCompletion(() -> {
+            subscribers.remove(subscriber);
+            connections.remove(subscriber);
+        });
+        // 超时时正常结束，客户端按SSE规范携带Last-Event-ID重连
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> close(subscriber));
+        synchronized (lock) {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+            connections.add(subscriber);
+        }
+        schedule(subscriber);
+        return emitter;
+    }
+
+    /**
+     * 事务提交后接收变更；无事务时直接处理
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        String data = serialize(event);
+        synchronized (lock) {
+            ChangeFeedEntry entry = new ChangeFeedEntry(nextId++, event.type().name(), data);
+            replayBuffer[(int) (entry.id() % replayBuffer.length)] = entry;
+            published.incrementAndGet();
+            for (ChangeFeedSubscriber subscriber : subscribers) {
+                if (enqueue(subscriber, entry)) {
+                    schedule(subscriber);
+                }
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void destroy() {
+        heartbeat.shutdownNow();
+        dispatcher.shutdownNow();
+        // 发送任务已无法调度，发送中的连接随容器关闭断开
+        connections.forEach(this::close);
+    }
+
+    private void replay(ChangeFeedSubscriber subscriber, String lastEventId) {
+        long lastId = parseSequence(lastEventId);
+        long oldest = Math.max(1, nextId - replayBuffer.length);
+        if (lastId < 0 || lastId >= nextId || lastId + 1 < oldest) {
+            // 服务重启或落后超出回放范围，通知客户端全量重新同步
+            subscriber.offerReplay(ChangeFeedEntry.RESET);
+            return;
+        }
+        for (long id = lastId + 1; id < nextId; id++) {
+            subscriber.offerReplay(replayBuffer[(int) (id % replayBuffer.length)]);
+        }
+    }
+
+    /**
+     * 解析事件ID中的序号，纪元不匹配或格式错误时返回-1
+     */
+    private long parseSequence(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator <= 0 || !eventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private boolean enqueue(ChangeFeedSubscriber subscriber, ChangeFeedEntry entry) {
+        if (subscriber.offer(entry)) {
+            return true;
+        }
+        if (properties.getSlowConsumerPolicy() == SlowConsumerPolicy.DROP_OLDEST) {
+            subscriber.dropOldestAndOffer(entry);
+            dropped.incrementAndGet();
+            return true;
+        }
+        if (subscriber.markClosed()) {
+            disconnected.incrementAndGet();
+            subscribers.remove(subscriber);
+            // 由发送任务结束连接：发送进行中时emitter被占用，在发送线程外调用complete会一同阻塞
+            schedule(subscriber);
+        }
+        return false;
+    }
+
+    private void schedule(ChangeFeedSubscriber subscriber) {
+        if (subscriber.tryMarkScheduled()) {
+            execute(() -> drain(subscriber));
+        }
+    }
+
+    private void execute(Runnable task) {
+        try {
+            dispatcher.execute(task);
+        } catch (RejectedExecutionException e) {
+            // 关闭中
+        }
+    }
+
+    private void drain(ChangeFeedSubscriber subscriber) {
+        try {
+            int sent = 0;
+            ChangeFeedEntry entry;
+            while (sent < properties.getMaxEventsPerDispatch()
+                    && !subscriber.isClosed()
+                    && (entry = subscriber.poll()) != null) {
+                subscriber.beginSend();
+                try {
+                    subscriber.emitter().send(toEvent(entry));
+                } finally {
+                    subscriber.endSend();
+                }
+                subscriber.markSent();
+                sent++;
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 连接已断开或已结束
+            close(subscriber);
+        } finally {
+            subscriber.clearScheduled();
+            if (subscriber.clearStalled()) {
+                // 卡住的发送已返回，收回补充的线程
+                resizeDispatcher(-1);
+            }
+            if (subscriber.isClosed()) {
+                finish(subscriber);
+            } else if (subscriber.hasPending()) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    /**
+     * 断开发送阻塞超时的订阅者
+     * 阻塞中的send持有emitter的锁，这里不能调用complete，只标记关闭并补充一个发送线程
+     */
+    private void evictStalledSubscribers() {
+        long timeout = properties.getSendTimeout().toNanos();
+        for (ChangeFeedSubscriber subscriber : connections) {
+            if (subscriber.markStalledIfSendingLongerThan(timeout)) {
+                subscribers.remove(subscriber);
+                subscriber.markClosed();
+                stalled.incrementAndGet();
+                resizeDispatcher(1);
+            }
+        }
+    }
+
+    private synchronized void resizeDispatcher(int delta) {
+        if (dispatcher.isShutdown()) {
+            return;
+        }
+        int size = dispatcher.getCorePoolSize() + delta;
+        // 扩容先调最大值，缩容先调核心数，保证核心数不超过最大值
+        if (delta > 0) {
+            dispatcher.setMaximumPoolSize(size);
+            dispatcher.setCorePoolSize(size);
+        } else {
+            dispatcher.setCorePoolSize(size);
+            dispatcher.setMaximumPoolSize(size);
+        }
+    }
+
+    private void sendHeartbeats() {
+        long interval = properties.getHeartbeatInterval().toNanos();
+        for (ChangeFeedSubscriber subscriber : subscribers) {
+            if (subscriber.idleNanos() >= interval && subscriber.offerHeartbeat()) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    /**
+     * 发送进行中时complete会在emitter的锁上阻塞调用方（超时、出错回调所在的容器线程），
+     * 此时只标记关闭并调度，由发送任务的finally结束emitter；否则直接结束，超时回调要求在回调内完成
+     */
+    private void close(ChangeFeedSubscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.markClosed();
+        if (subscriber.isSending()) {
+            schedule(subscriber);
+        } else {
+            finish(subscriber);
+        }
+    }
+
+    private void finish(ChangeFeedSubscriber subscriber) {
+        if (subscriber.markCompleted()) {
+            connections.remove(subscriber);
+            subscriber.emitter().complete();
+        }
+    }
+
+    private SseEmitter.SseEventBuilder toEvent(ChangeFeedEntry entry) {
+        if (entry.isHeartbeat()) {
+            return SseEmitter.event().comment(entry.name());
+        }
+        SseEmitter.SseEventBuilder event = SseEmitter.event()
+                .name(entry.name())
+                .data(entry.data());
+        return entry.id() > 0 ? event.id(epoch + "-" + entry.id()) : event;
+    }
+
+    private String serialize(UserChangedEvent event) {
+        UserChangeResponse response = UserChangeResponse.builder()
+                .type(event.type().name())
+                .userId(event.userId())
+                .user(userRestMapper.toResponse(event.user()))
+                .occurredAt(event.occurredAt())
+                .build();
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("变更事件序列化失败", e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.interfaces.rest.sse;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 用户变更推送配置
+ */
+@Data
+@ConfigurationProperties(prefix = "app.change-feed")
+public class UserChangeFeedProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * 回放缓冲区保留的最近事件数，决定Last-Event-ID可续传的范围
+     */
+    private int replayBufferSize = 10000;
+
+    /**
+     * 每个订阅者未发送事件的上限
+     */
+    private int subscriberBufferSize = 256;
+
+    /**
+     * 订阅者缓冲区满时的处理策略
+     */
+    private SlowConsumerPolicy slowConsumerPolicy = SlowConsumerPolicy.DISCONNECT;
+
+    /**
+     * 最大订阅者数，超出时返回503
+     */
+    private int maxSubscribers = 10000;
+
+    /**
+     * 发送线程数，所有连接共享
+     */
+    private int dispatchThreads = 2;
+
+    /**
+     * 单个订阅者每轮最多发送的事件数，避免积压的订阅者长期占用发送线程
+     */
+    private int maxEventsPerDispatch = 64;
+
+    /**
+     * 单次发送的最长阻塞时间，超出时断开该订阅者，并临时增加一个发送线程顶替被卡住的线程
+     */
+    private Duration sendTimeout = Duration.ofSeconds(10);
+
+    /**
+     * 空闲连接的心跳间隔，用于保活和探测断开的连接
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /**
+     * 连接超时，到期后客户端按SSE规范自动重连
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+}